@@ -0,0 +1,21 @@
+package com.example.matchmanagementapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response and request body encodings besides JSON, chosen by the Accept and Content-Type headers.
+ * CBOR and Smile are registered by Spring MVC itself once their Jackson modules are on the classpath;
+ * protobuf is added here, after them, so that requests without an Accept header still get JSON.
+ */
+@Configuration
+public class HttpEncodingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MatchProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.matchmanagementapi.config;
+
+import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import com.example.matchmanagementapi.dto.MatchView;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@code application/x-protobuf} bodies with {@link MatchProtobufCodec}:
+ * matches and odds (DTOs or views), alone or as lists. Lists are MatchList / MatchOddsList
+ * messages; request bodies are read into DTOs. Other body types are not offered this encoding,
+ * so asking for it there is answered with 406 / 415.
+ */
+public class MatchProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public MatchProtobufHttpMessageConverter() {
+        super(MatchProtobufCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isMatch(clazz) || isOdds(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> target = List.class.isAssignableFrom(resolved.toClass()) ? resolved.getGeneric(0).toClass() : resolved.toClass();
+        return (target == MatchDTO.class || target == MatchOddsDTO.class) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (List.class.isAssignableFrom(resolved.toClass())) {
+            // Element type unknown for ResponseEntity<?>: the elements are checked when writing
+            Class<?> element = resolved.getGeneric(0).toClass();
+            return (element == Object.class || isMatch(element) || isOdds(element)) && canWrite(mediaType);
+        }
+        return (isMatch(resolved.toClass()) || isOdds(resolved.toClass())) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (List.class.isAssignableFrom(resolved.toClass())) {
+            return resolved.getGeneric(0).toClass() == MatchDTO.class
+                    ? MatchProtobufCodec.readMatches(inputMessage.getBody())
+                    : MatchProtobufCodec.readOddsList(inputMessage.getBody());
+        }
+        return readInternal(resolved.toClass(), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return clazz == MatchDTO.class
+                ? MatchProtobufCodec.readMatch(inputMessage.getBody())
+                : MatchProtobufCodec.readOdds(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof List<?> list) {
+            // An empty list is zero bytes in either list message
+            if (list.isEmpty()) {
+                return;
+            }
+            Class<?> element = list.getFirst().getClass();
+            if (isMatch(element)) {
+                MatchProtobufCodec.writeMatches(list, outputMessage.getBody());
+            } else if (isOdds(element)) {
+                MatchProtobufCodec.writeOddsList(list, outputMessage.getBody());
+            } else {
+                throw new HttpMessageNotWritableException("No protobuf encoding for lists of " + element.getSimpleName());
+            }
+        } else if (isMatch(body.getClass())) {
+            MatchProtobufCodec.writeMatch(body, outputMessage.getBody());
+        } else {
+            MatchProtobufCodec.writeOdds(body, outputMessage.getBody());
+        }
+    }
+
+    private static boolean isMatch(Class<?> clazz) {
+        return clazz == MatchDTO.class || clazz == MatchView.class;
+    }
+
+    private static boolean isOdds(Class<?> clazz) {
+        return clazz == MatchOddsDTO.class || clazz == MatchOddsView.class;
+    }
+}
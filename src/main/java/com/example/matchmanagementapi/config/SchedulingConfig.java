@@ -0,0 +1,17 @@
+package com.example.matchmanagementapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} jobs (odds stream, odds history and queued update flushes, record
+ * count reconcile, odds book and range index rebuilds) on a pool of
+ * {@code spring.task.scheduling.pool.size} threads, one per job, so a slow COUNT(*) or rebuild
+ * never holds back the millisecond flushes.
+ * Kept off the application class so {@code @WebMvcTest} slices, whose services are mocks,
+ * do not call those mocks from the scheduler thread while tests are stubbing them.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
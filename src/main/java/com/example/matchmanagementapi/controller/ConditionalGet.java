@@ -0,0 +1,73 @@
+package com.example.matchmanagementapi.controller;
+
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Strong ETags built from versions the services already hold, and the If-None-Match check
+ * that lets a GET endpoint answer 304 before it reads or serializes the body.
+ * The same resource is served in several encodings, so each ETag names the encoding it was
+ * built for and the responses carry Vary: Accept.
+ */
+final class ConditionalGet {
+    static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+    static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+    static final String SMILE = "application/x-jackson-smile";
+    static final String PROTOBUF = MatchProtobufCodec.MEDIA_TYPE_VALUE;
+
+    /** The encodings of the conditional endpoints, in the order content negotiation prefers them. */
+    private static final List<MediaType> ENCODINGS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, MediaType.valueOf(SMILE), MatchProtobufCodec.MEDIA_TYPE);
+
+    private ConditionalGet() {
+    }
+
+    static String etag(long version, MediaType encoding) {
+        return "\"" + version + "-" + encoding.getSubtype() + "\"";
+    }
+
+    /**
+     * The encoding content negotiation will pick for an Accept header, resolved the way Spring MVC
+     * does it for the endpoint's produces list: the most specific, highest quality accepted type
+     * decides, and JSON answers a missing or wildcard header. The endpoints declare the same list,
+     * so an Accept header none of them satisfies never gets here.
+     */
+    static MediaType encoding(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType encoding : ENCODINGS) {
+                if (type.isCompatibleWith(encoding)) {
+                    return encoding;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Whether an If-None-Match header names {@code etag}. Uses the weak comparison
+     * If-None-Match calls for, so a W/ prefix added by a proxy still matches.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.matchmanagementapi.controller;
+
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ExportService exportService;
+
+    // <editor-fold desc="GET endpoints">
+    /**
+     * Streams all matches that pass the given filters as NDJSON (default) or CSV.
+     * Rows are written as they are read from the database cursor, so the full table can be exported.
+     * Example: GET /api/export/matches?sport=Football&matchDateAfter=2025-08-01&format=CSV
+     *
+     * @param filter Optional filters, the same as GET /api/matches.
+     * @param format Optional NDJSON (default) or CSV.
+     * @return ResponseEntity streaming one MatchDTO per line.
+     */
+    @GetMapping("/matches")
+    public ResponseEntity<StreamingResponseBody> exportMatches(
+            MatchFilter filter,
+            @RequestParam(required = false) ImportFormat format
+    ) {
+        ImportFormat resolvedFormat = format != null ? format : ImportFormat.NDJSON;
+        return stream("matches", resolvedFormat, out -> exportService.exportMatches(filter, resolvedFormat, out));
+    }
+
+    /**
+     * Streams all match odds that pass the given filters as NDJSON (default) or CSV.
+     * Example: GET /api/export/matchOdds?matchId=5&format=NDJSON
+     *
+     * @param filter Optional filters, the same as GET /api/matchOdds.
+     * @param format Optional NDJSON (default) or CSV.
+     * @return ResponseEntity streaming one MatchOddsDTO per line.
+     */
+    @GetMapping("/matchOdds")
+    public ResponseEntity<StreamingResponseBody> exportMatchOdds(
+            MatchOddsFilter filter,
+            @RequestParam(required = false) ImportFormat format
+    ) {
+        ImportFormat resolvedFormat = format != null ? format : ImportFormat.NDJSON;
+        return stream("matchOdds", resolvedFormat, out -> exportService.exportMatchOdds(filter, resolvedFormat, out));
+    }
+    // </editor-fold>
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ImportFormat format, StreamingResponseBody body) {
+        boolean csv = format == ImportFormat.CSV;
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + (csv ? ".csv" : ".ndjson"))
+                .build();
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.matchmanagementapi.controller;
+
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.ImportReport;
+import com.example.matchmanagementapi.service.ImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+    private final ImportService importService;
+
+    // <editor-fold desc="POST endpoints">
+    /**
+     * Imports matches from a CSV or NDJSON file located in the server's import directory.
+     * Example: POST /api/import/matches?file=season-2025.csv
+     * CSV files need a header row with the MatchDTO field names
+     * (description,matchDate,matchTime,teamA,teamB,sport).
+     *
+     * @param file   File name relative to {@code app.import.dir}.
+     * @param format Optional CSV or NDJSON; detected from the file extension when omitted.
+     * @return ResponseEntity containing the ImportReport.
+     */
+    @PostMapping("/matches")
+    public ResponseEntity<ImportReport> importMatches(
+            @RequestParam String file,
+            @RequestParam(required = false) ImportFormat format
+    ) {
+        return ResponseEntity.ok(importService.importMatches(importService.resolve(file), format));
+    }
+
+    /**
+     * Imports match odds from a CSV or NDJSON file located in the server's import directory.
+     * Example: POST /api/import/matchOdds?file=odds-2024.ndjson
+     * CSV files need a header row with the MatchOddsDTO field names (matchId,specifier,odd).
+     *
+     * @param file   File name relative to {@code app.import.dir}.
+     * @param format Optional CSV or NDJSON; detected from the file extension when omitted.
+     * @return ResponseEntity containing the ImportReport.
+     */
+    @PostMapping("/matchOdds")
+    public ResponseEntity<ImportReport> importMatchOdds(
+            @RequestParam String file,
+            @RequestParam(required = false) ImportFormat format
+    ) {
+        return ResponseEntity.ok(importService.importMatchOdds(importService.resolve(file), format));
+    }
+    // </editor-fold>
+}
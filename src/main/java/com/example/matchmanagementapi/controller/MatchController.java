@@ -1,26 +1,42 @@
 package com.example.matchmanagementapi.controller;
 
 import com.example.matchmanagementapi.domain.Match;
-import com.example.matchmanagementapi.domain.MatchOdds;
-import com.example.matchmanagementapi.domain.Sport;
 import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchFilter;
 import com.example.matchmanagementapi.dto.MatchMapper;
-import com.example.matchmanagementapi.dto.MatchOddsDTO;
-import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import com.example.matchmanagementapi.dto.MatchView;
+import com.example.matchmanagementapi.service.KeysetPage;
 import com.example.matchmanagementapi.service.MatchOddsService;
 import com.example.matchmanagementapi.service.MatchService;
+import com.example.matchmanagementapi.service.MatchSort;
+import com.example.matchmanagementapi.service.OddsStreamService;
+import com.example.matchmanagementapi.service.RecordCount;
+import com.example.matchmanagementapi.service.StreamingIngestService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("/api/matches")
@@ -28,83 +44,158 @@ import java.util.Map;
 public class MatchController {
     private final MatchService matchService;
     private final MatchOddsService matchOddsService;
+    private final StreamingIngestService streamingIngestService;
+    private final OddsStreamService oddsStreamService;
     private final ObjectMapper objectMapper;
 
+    @Value("${app.http-cache.started-match-max-age:1h}")
+    private Duration startedMatchMaxAge;
+
     // <editor-fold desc="GET endpoints">
     /**
-     * Retrieves a filtered list of matches.
-     * Example: GET /api/matches?teamA=OSFP&teamB=PAO&sport=Football&startDate=2025-08-01&endDate=2025-08-10
+     * Retrieves a filtered, keyset-paginated list of matches.
+     * Example: GET /api/matches?teamA=OSFP&sport=Football&sort=KICKOFF&limit=50
+     * When more rows exist, the X-Next-Cursor response header carries the token for the next page:
+     * GET /api/matches?teamA=OSFP&sport=Football&sort=KICKOFF&limit=50&cursor={token}
      *
-     * @param description       Optional match description.
-     * @param teamA             Optional first team name.
-     * @param teamB             Optional second team name.
-     * @param sport             Optional sport type.
-     * @param matchDate         Optional exact match date.
-     * @param matchDateBefore   Optional start date for date range.
-     * @param matchDateAfter    Optional end date for date range.
-     * @param matchTime         Optional exact match time.
-     * @param matchTimeBefore   Optional upper-bound for time.
-     * @param matchTimeAfter    Optional lower-bound for time.
-     * @return ResponseEntity   containing the filtered list of MatchDTOs.
+     * @param filter  Optional filters (description, teamA, teamB, sport, matchDate, matchDateBefore,
+     *                matchDateAfter, matchTime, matchTimeBefore, matchTimeAfter).
+     * @param sort    Optional sort key: KICKOFF (default) or ID.
+     * @param cursor  Optional continuation token from a previous page.
+     * @param limit   Optional page size, capped at app.pagination.max-page-size.
+     * @return ResponseEntity containing one page of MatchViews.
      */
     @GetMapping
-    public ResponseEntity<List<MatchDTO>> searchMatches(
-            @RequestParam(required = false) String description,
-            @RequestParam(required = false) String teamA,
-            @RequestParam(required = false) String teamB,
-            @RequestParam(required = false) Sport sport,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDateBefore ,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDateAfter  ,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTime,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTimeBefore,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTimeAfter
+    public ResponseEntity<List<MatchView>> searchMatches(
+            MatchFilter filter,
+            @RequestParam(required = false) MatchSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        List<MatchDTO> result = MatchMapper.toDTO(matchService.searchMatches(
-                description, teamA, teamB, sport,
-                matchDate, matchDateBefore , matchDateAfter,
-                matchTime, matchTimeBefore, matchTimeAfter
-        ));
-        return ResponseEntity.ok(result);
+        KeysetPage<MatchView> page = matchService.searchMatches(filter, sort, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     /**
-     * Returns a match by its ID.
+     * Returns a match by its ID, with its version as a strong ETag.
      * Endpoint:
      * - GET /api/matches/{id}
+     * With If-None-Match, the version is first taken from the match cache, and a match that has not
+     * changed is answered with 304 without a query. Matches that have kicked off are cacheable for
+     * app.http-cache.started-match-max-age; the others must be revalidated on every use.
+     * The ETag names the negotiated encoding, and the response varies by Accept.
      *
-     * @param id The ID of the match to retrieve.
-     * @return ResponseEntity containing the MatchDTO.
+     * @param id          The ID of the match to retrieve.
+     * @param ifNoneMatch Optional ETag of the copy the client already has.
+     * @param accept      Optional Accept header, which selects the encoding the ETag is built for.
+     * @return ResponseEntity containing the MatchView, or 304 if it has not changed.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<MatchDTO> getMatchById(@PathVariable Long id){
-        MatchDTO result = MatchMapper.toDTO(matchService.find(id));
-        return ResponseEntity.ok(result);
+    @GetMapping(value = "/{id}", produces = {ConditionalGet.JSON, ConditionalGet.CBOR, ConditionalGet.SMILE, ConditionalGet.PROTOBUF})
+    public ResponseEntity<MatchView> getMatchById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ){
+        MediaType encoding = ConditionalGet.encoding(accept);
+        if (ifNoneMatch != null) {
+            Match cached = matchService.find(id);
+            String etag = ConditionalGet.etag(cached.getVersion(), encoding);
+            if (ConditionalGet.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(matchCacheControl(cached.getMatchDate(), cached.getMatchTime()))
+                        .build();
+            }
+        }
+
+        MatchView result = matchService.findView(id);
+        return ResponseEntity.ok()
+                .eTag(ConditionalGet.etag(result.version(), encoding))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(matchCacheControl(result.matchDate(), result.matchTime()))
+                .body(result);
     }
 
     /**
-     * Returns the total number of match records.
-     * Example: GET /api/matches/count
+     * Returns the number of matches matching the same filters as the search, or of all matches.
+     * Example: GET /api/matches/count?teamA=OSFP&matchDateAfter=2025-08-01
+     * A filtered count is a single SELECT COUNT; the total is served from memory. The X-Count-Accuracy
+     * header says whether the count is "exact" or "estimated" from database statistics.
      *
-     * @return ResponseEntity containing the total count of matches.
+     * @param filter Optional filters (description, teamA, teamB, sport, matchDate, matchDateBefore,
+     *               matchDateAfter, matchTime, matchTimeBefore, matchTimeAfter).
+     * @return ResponseEntity containing the count of matches.
      */
     @GetMapping("/count")
-    public ResponseEntity<Long> getCount(){
-        long result = matchService.getRecordsCount();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<Long> getCount(MatchFilter filter){
+        RecordCount result = matchService.countMatches(filter);
+        return ResponseEntity.ok()
+                .header(RecordCount.ACCURACY_HEADER, result.accuracy())
+                .body(result.value());
     }
 
     /**
      * Retrieves all match odds for a given match ID.
      * Example: GET /api/matches/{id}/odds
+     * The ETag is the version of the match in the odds book, which changes with any of its odds,
+     * so an unchanged list is answered with 304 before it is built. No ETag is sent when the
+     * odds book is disabled. The ETag names the negotiated encoding, and the response varies by Accept.
+     *
+     * @param id          The ID of the match whose odds are to be retrieved.
+     * @param ifNoneMatch Optional ETag of the list the client already has.
+     * @param accept      Optional Accept header, which selects the encoding the ETag is built for.
+     * @return ResponseEntity containing the list of MatchOddsViews, or 304 if it has not changed.
+     */
+    @GetMapping(value = "/{id}/odds", produces = {ConditionalGet.JSON, ConditionalGet.CBOR, ConditionalGet.SMILE, ConditionalGet.PROTOBUF})
+    public ResponseEntity<List<MatchOddsView>> getOddsForMatch(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        OptionalLong version = matchOddsService.getOddsVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(matchOddsService.getOddsViewsForMatch(id));
+        }
+
+        String etag = ConditionalGet.etag(version.getAsLong(), ConditionalGet.encoding(accept));
+        if (ConditionalGet.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).build();
+        }
+        // Read after the version, so the list is never older than the ETag sent with it
+        List<MatchOddsView> odds = matchOddsService.getOddsViewsForMatch(id);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).body(odds);
+    }
+
+    /**
+     * Streams the odds of a match as server-sent events, replacing polling of GET /api/matches/{id}/odds.
+     * Example: GET /api/matches/{id}/odds/stream
+     * Each "odds" event is an OddsUpdate holding all current odds of one specifier: one per specifier
+     * on connect, then one per changed specifier, coalesced over app.odds-stream.coalesce-window.
      *
-     * @param id The ID of the match whose odds are to be retrieved.
-     * @return ResponseEntity containing the list of MatchOddsDTOs.
+     * @param id The ID of the match to follow.
+     * @return SseEmitter that stays open until the client disconnects or app.odds-stream.timeout elapses.
      */
-    @GetMapping("/{id}/odds")
-    public ResponseEntity<List<MatchOddsDTO>> getOddsForMatch(@PathVariable Long id) {
-        List<MatchOdds> odds = matchOddsService.getOddsForMatch(id);
-        return ResponseEntity.ok(MatchOddsMapper.toDTO(odds));
+    @GetMapping(value = "/{id}/odds/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOddsForMatch(@PathVariable Long id) {
+        return oddsStreamService.subscribe(List.of(id));
+    }
+
+    /**
+     * Streams the odds of several matches over one connection, as GET /api/matches/{id}/odds/stream does for one.
+     * Example: GET /api/matches/odds/stream?ids=1,2,3
+     *
+     * @param ids The IDs of the matches to follow.
+     * @return SseEmitter that stays open until the client disconnects or app.odds-stream.timeout elapses.
+     */
+    @GetMapping(value = "/odds/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOddsForMatches(@RequestParam List<Long> ids) {
+        return oddsStreamService.subscribe(ids);
     }
     // </editor-fold>
 
@@ -163,6 +254,37 @@ public class MatchController {
             return ResponseEntity.ok(MatchMapper.toDTO(saved));
         }
     }
+
+    /**
+     * Saves a batch of matches sent as a protobuf MatchList (see src/main/proto/match_management.proto).
+     * CBOR and Smile bodies are handled by POST /api/matches itself, like JSON.
+     * Example: POST /api/matches with Content-Type: application/x-protobuf
+     *
+     * @param matchDTOs The decoded MatchDTOs.
+     * @return ResponseEntity containing the list of saved MatchDTOs, encoded as the Accept header asks.
+     */
+    @PostMapping(consumes = MatchProtobufCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<List<MatchDTO>> saveMatchesProtobuf(@RequestBody List<MatchDTO> matchDTOs) {
+        List<Match> saved = matchService.saveAll(MatchMapper.toEntity(matchDTOs));
+        return ResponseEntity.ok(MatchMapper.toDTO(saved));
+    }
+
+    /**
+     * Streams matches in as NDJSON (one MatchDTO per line) and commits them in fixed-size chunks.
+     * One IngestChunkResult line is written back as each chunk completes, so memory use stays
+     * constant regardless of the upload size. Duplicates are skipped as in the batch insert.
+     * Example: POST /api/matches with Content-Type: application/x-ndjson
+     *   {"description":"OSFP-PAO","matchDate":"2025-08-01","matchTime":"20:00:00","teamA":"OSFP","teamB":"PAO","sport":"Football"}
+     *   {"description":"AEK-ARIS","matchDate":"2025-08-02","matchTime":"21:00:00","teamA":"AEK","teamB":"ARIS","sport":"Football"}
+     *
+     * @param body     The NDJSON request body.
+     * @param response The response that chunk results are streamed to.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void saveMatchesStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        streamingIngestService.ingestMatches(body, response.getOutputStream());
+    }
     // </editor-fold>
 
     // <editor-fold desc="DELETE endpoints">
@@ -180,17 +302,22 @@ public class MatchController {
     }
 
     /**
-     * Deletes multiple matches by their IDs.
+     * Deletes multiple matches by their IDs, or every match matching the filter when there is no body.
      * Example: DELETE /api/matches
      * Request Body: [1, 2, 3]
+     * Example: DELETE /api/matches?matchDateBefore=2025-01-01
+     *
+     * Matches are deleted with one statement per chunk of IDs, and their odds are removed by the
+     * database cascade. Without a body at least one filter is required (400 otherwise).
      *
-     * @param ids The list of match IDs to delete.
-     * @return Empty ResponseEntity with HTTP 200 status.
+     * @param ids    Optional list of match IDs to delete.
+     * @param filter Filters (same as GET /api/matches), used when no IDs are given.
+     * @return ResponseEntity containing the number of matches deleted.
      */
     @DeleteMapping
-    public ResponseEntity<Void> deleteByIds(@RequestBody List<Long> ids) {
-        matchService.deleteByIds(ids);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> deleteMatches(@RequestBody(required = false) List<Long> ids, MatchFilter filter) {
+        int result = ids != null ? matchService.deleteByIds(ids) : matchService.deleteMatches(filter);
+        return ResponseEntity.ok(result);
     }
     // </editor-fold>
 
@@ -228,4 +355,16 @@ public class MatchController {
         return ResponseEntity.ok(MatchMapper.toDTO(updatedMatch));
     }
     // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    /**
+     * A match that has kicked off is not expected to change, so clients may reuse it for
+     * startedMatchMaxAge; an upcoming match must be revalidated (a cheap 304) on every use.
+     */
+    private CacheControl matchCacheControl(LocalDate matchDate, LocalTime matchTime) {
+        boolean started = matchDate != null
+                && !LocalDateTime.of(matchDate, matchTime != null ? matchTime : LocalTime.MIDNIGHT).isAfter(LocalDateTime.now());
+        return started ? CacheControl.maxAge(startedMatchMaxAge) : CacheControl.noCache();
+    }
+    // </editor-fold>
 }
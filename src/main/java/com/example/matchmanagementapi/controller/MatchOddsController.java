@@ -3,16 +3,35 @@ package com.example.matchmanagementapi.controller;
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.MatchOdds;
 import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
 import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.OddsCompareAndSet;
+import com.example.matchmanagementapi.dto.OddsHistoryPoint;
+import com.example.matchmanagementapi.dto.OddsRepriceItem;
+import com.example.matchmanagementapi.dto.OddsRepriceResult;
+import com.example.matchmanagementapi.service.KeysetPage;
 import com.example.matchmanagementapi.service.MatchOddsService;
+import com.example.matchmanagementapi.service.MatchOddsSort;
 import com.example.matchmanagementapi.service.MatchService;
+import com.example.matchmanagementapi.service.OddsHistoryService;
+import com.example.matchmanagementapi.service.RecordCount;
+import com.example.matchmanagementapi.service.StreamingIngestService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/matchOdds")
@@ -20,31 +39,34 @@ import java.util.Map;
 public class MatchOddsController {
     private final MatchOddsService matchOddsService;
     private final MatchService matchService;
+    private final StreamingIngestService streamingIngestService;
+    private final OddsHistoryService oddsHistoryService;
 
     // <editor-fold desc="GET endpoints">
     /**
-     * Retrieves a filtered list of match odds.
-     * Example: GET /api/matchOdds?specifier=1&oddOver=2.0&matchId=5
-     *
-     * @param specifier   Optional specifier value (e.g., "1", "X", "2").
-     * @param odd         Optional exact odd value.
-     * @param oddOver     Optional lower bound (exclusive) for odd (e.g., odd > 2.0).
-     * @param oddUnder    Optional upper bound (exclusive) for odd (e.g., odd < 3.5).
-     * @param matchId     Optional match ID to filter odds by specific match.
-     * @return ResponseEntity containing the filtered list of MatchOddsDTOs.
+     * Retrieves a filtered, keyset-paginated list of match odds.
+     * Example: GET /api/matchOdds?specifier=1&oddOver=2.0&matchId=5&sort=ODD&limit=100
+     * When more rows exist, the X-Next-Cursor response header carries the token for the next page.
+     *
+     * @param filter  Optional filters (specifier, odd, oddOver, oddUnder, matchId).
+     * @param sort    Optional sort key: ID (default) or ODD.
+     * @param cursor  Optional continuation token from a previous page.
+     * @param limit   Optional page size, capped at app.pagination.max-page-size.
+     * @return ResponseEntity containing one page of MatchOddsViews.
      */
     @GetMapping
-    public ResponseEntity<List<MatchOddsDTO>> searchMatchOdds(
-            @RequestParam(required = false) String specifier,
-            @RequestParam(required = false) Double odd,
-            @RequestParam(required = false) Double oddOver,
-            @RequestParam(required = false) Double oddUnder,
-            @RequestParam(required = false) Long matchId
+    public ResponseEntity<List<MatchOddsView>> searchMatchOdds(
+            MatchOddsFilter filter,
+            @RequestParam(required = false) MatchOddsSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
-        List<MatchOddsDTO> result = MatchOddsMapper.toDTO(
-                matchOddsService.searchMatchOdds(specifier, odd, oddOver, oddUnder, matchId)
-        );
-        return ResponseEntity.ok(result);
+        KeysetPage<MatchOddsView> page = matchOddsService.searchMatchOdds(filter, sort, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     /**
@@ -53,25 +75,63 @@ public class MatchOddsController {
      * - GET /api/matchOdds/{id}
      *
      * @param id The ID of the matchOdds to retrieve.
-     * @return ResponseEntity containing the MatchOddsDTO.
+     * @return ResponseEntity containing the MatchOddsView.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MatchOddsDTO> getMatchOddsById(@PathVariable Long id){
-        MatchOddsDTO result = MatchOddsMapper.toDTO(matchOddsService.find(id));
+    public ResponseEntity<MatchOddsView> getMatchOddsById(@PathVariable Long id){
+        MatchOddsView result = matchOddsService.findView(id);
         return ResponseEntity.ok(result);
     }
 
     /**
-     * Returns the total number of matchOdds records.
-     * Example: GET /api/matchOdds/count
+     * Returns the recorded prices of a matchOdds, oldest first, including those of deleted odds.
+     * Example: GET /api/matchOdds/{id}/history?from=2025-08-01T18:00:00Z&to=2025-08-01T22:00:00Z
      *
-     * @return ResponseEntity containing the total count of matchOdds.
+     * @param id   The ID of the matchOdds.
+     * @param from Optional earliest time (inclusive, ISO-8601).
+     * @param to   Optional latest time (inclusive, ISO-8601).
+     * @return ResponseEntity containing the list of OddsHistoryPoints.
      */
-    @GetMapping("/count")
-    public ResponseEntity<Long> getCount(){
-        long result = matchOddsService.getRecordsCount();
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<OddsHistoryPoint>> getHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to
+    ) {
+        List<OddsHistoryPoint> result = oddsHistoryService.getHistory(id, from, to);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Returns the price a matchOdds had at a point in time.
+     * Example: GET /api/matchOdds/{id}/history/at?time=2025-08-01T20:15:00Z
+     *
+     * @param id   The ID of the matchOdds.
+     * @param time The point in time (ISO-8601).
+     * @return ResponseEntity containing the last OddsHistoryPoint at or before time, or 404 if none.
+     */
+    @GetMapping("/{id}/history/at")
+    public ResponseEntity<OddsHistoryPoint> getOddAt(@PathVariable Long id, @RequestParam Instant time) {
+        OddsHistoryPoint result = oddsHistoryService.getOddAt(id, time);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Returns the number of matchOdds matching the same filters as the search, or of all matchOdds.
+     * Example: GET /api/matchOdds/count?specifier=1&oddOver=2.0
+     * A filtered count is a single SELECT COUNT; the total is served from memory. The X-Count-Accuracy
+     * header says whether the count is "exact" or "estimated" from database statistics.
+     *
+     * @param filter Optional filters (specifier, odd, oddOver, oddUnder, matchId).
+     * @return ResponseEntity containing the count of matchOdds.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> getCount(MatchOddsFilter filter){
+        RecordCount result = matchOddsService.countMatchOdds(filter);
+        return ResponseEntity.ok()
+                .header(RecordCount.ACCURACY_HEADER, result.accuracy())
+                .body(result.value());
+    }
     // </editor-fold>
 
     // <editor-fold desc="POST endpoints">
@@ -113,19 +173,43 @@ public class MatchOddsController {
      *   }
      * ]
      *
+     * All referenced matches are resolved with a single lookup; if any are missing,
+     * the request fails with 404 listing every missing match ID.
+     *
      * @param dtos List of MatchOddsDTOs to be created.
      * @return ResponseEntity containing the list of created MatchOddsDTOs.
      */
     @PostMapping("/batch")
     public ResponseEntity<List<MatchOddsDTO>> saveBatch(@RequestBody List<MatchOddsDTO> dtos) {
+        Set<Long> matchIds = dtos.stream()
+                .map(MatchOddsDTO::getMatchId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Match> matches = matchService.findAllById(matchIds);
+
         List<MatchOdds> entities = new ArrayList<>();
         for (MatchOddsDTO dto : dtos) {
-            Match match = matchService.find(dto.getMatchId());
-            entities.add(MatchOddsMapper.toEntity(dto, match));
+            entities.add(MatchOddsMapper.toEntity(dto, matches.get(dto.getMatchId())));
         }
         List<MatchOdds> saved = matchOddsService.saveAll(entities);
         return ResponseEntity.ok(MatchOddsMapper.toDTO(saved));
     }
+
+    /**
+     * Streams match odds in as NDJSON (one MatchOddsDTO per line) and commits them in fixed-size chunks.
+     * One IngestChunkResult line is written back as each chunk completes; a chunk that references
+     * missing matches reports them in its error field and the stream continues with the next chunk.
+     * Example: POST /api/matchOdds/batch with Content-Type: application/x-ndjson
+     *   {"matchId":5,"specifier":"1","odd":2.5}
+     *   {"matchId":6,"specifier":"X","odd":3.1}
+     *
+     * @param body     The NDJSON request body.
+     * @param response The response that chunk results are streamed to.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void saveBatchStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        streamingIngestService.ingestMatchOdds(body, response.getOutputStream());
+    }
     // </editor-fold>
 
     // <editor-fold desc="DELETE endpoints">
@@ -143,17 +227,22 @@ public class MatchOddsController {
     }
 
     /**
-     * Deletes multiple matchOdds by their IDs.
+     * Deletes multiple matchOdds by their IDs, or every matchOdds matching the filter when there is no body.
      * Example: DELETE /api/matchOdds
      * Request Body: [1, 2, 3]
+     * Example: DELETE /api/matchOdds?matchId=5&specifier=X
+     *
+     * Odds are deleted with one statement per chunk of IDs. Without a body at least one filter is
+     * required (400 otherwise).
      *
-     * @param ids The list of matchOdds IDs to delete.
-     * @return Empty ResponseEntity with HTTP 200 status.
+     * @param ids    Optional list of matchOdds IDs to delete.
+     * @param filter Filters (same as GET /api/matchOdds), used when no IDs are given.
+     * @return ResponseEntity containing the number of matchOdds deleted.
      */
     @DeleteMapping
-    public ResponseEntity<Void> deleteByIds(@RequestBody List<Long> ids) {
-        matchOddsService.deleteByIds(ids);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> deleteMatchOdds(@RequestBody(required = false) List<Long> ids, MatchOddsFilter filter) {
+        int result = ids != null ? matchOddsService.deleteByIds(ids) : matchOddsService.deleteMatchOdds(filter);
+        return ResponseEntity.ok(result);
     }
     // </editor-fold>
 
@@ -168,6 +257,7 @@ public class MatchOddsController {
      *             "id": 5
      *           }
      *         } }
+     * With app.odds-write-behind.enabled the update is queued and 202 Accepted is returned without a body.
      *
      * @param id       The ID of the matchOdds to update (from URL).
      * @param matchOddsDTO The MatchOddsDTO with updated data.
@@ -178,6 +268,10 @@ public class MatchOddsController {
         Match match = matchService.find(matchOddsDTO.getMatchId());
 
         MatchOdds entity = MatchOddsMapper.toEntity(matchOddsDTO, match);
+        if (matchOddsService.isWriteBehindEnabled()) {
+            matchOddsService.enqueueUpdate(id, entity);
+            return ResponseEntity.accepted().build();
+        }
         MatchOdds updated = matchOddsService.update(id, entity);
         return ResponseEntity.ok(MatchOddsMapper.toDTO(updated));
     }
@@ -188,6 +282,7 @@ public class MatchOddsController {
      * Partially updates a MatchOdds by its ID.
      * Example: PATCH /api/matchOdds/1 with body {"odd": 2.9}
      * Request Body: Map of fields to update (e.g., specifier, odd, match.id).
+     * With app.odds-write-behind.enabled the update is queued and 202 Accepted is returned without a body.
      *
      * @param id The ID of the MatchOdds to update.
      * @param updates Fields and values to be updated.
@@ -206,8 +301,51 @@ public class MatchOddsController {
             }
         }
 
+        if (matchOddsService.isWriteBehindEnabled()) {
+            matchOddsService.enqueuePartialUpdate(id, updates);
+            return ResponseEntity.accepted().build();
+        }
         MatchOdds updatedMatchOdds = matchOddsService.partialUpdate(id, updates);
         return ResponseEntity.ok(MatchOddsMapper.toDTO(updatedMatchOdds));
     }
+
+    /**
+     * Sets the odd of a MatchOdds only if it still has the expected version and/or odd (compare-and-set).
+     * Example: PATCH /api/matchOdds/1/odd with body {"odd": 2.6, "expectedVersion": 3}
+     * Example: PATCH /api/matchOdds/1/odd with body {"odd": 2.6, "expectedOdd": 2.5}
+     *
+     * A lost race is answered at once with 409 (reporting the current version and odd) instead of
+     * waiting on a lock; the client re-reads and retries.
+     *
+     * @param id      The ID of the MatchOdds to update.
+     * @param request The new odd and the expected version and/or odd.
+     * @return ResponseEntity containing the updated MatchOddsView with its new version.
+     */
+    @PatchMapping("/{id}/odd")
+    public ResponseEntity<MatchOddsView> compareAndSetOdd(@PathVariable Long id, @RequestBody OddsCompareAndSet request) {
+        MatchOddsView result = matchOddsService.compareAndSetOdd(id, request);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Reprices multiple MatchOdds in one transaction, with one set-based update per chunk of rows.
+     * Example: PATCH /api/matchOdds/batch
+     * Request Body:
+     * [
+     *   { "id": 1, "odd": 2.6 },
+     *   { "matchId": 5, "specifier": "X", "odd": 3.2 }
+     * ]
+     *
+     * An item addresses a row by id, or by matchId and specifier when the match has exactly one odd
+     * with that specifier. Items that cannot be applied do not fail the batch; each one gets its own
+     * status (UPDATED, UNCHANGED, SUPERSEDED, INVALID, NOT_FOUND, AMBIGUOUS or CONFLICT).
+     *
+     * @param items The new odds.
+     * @return ResponseEntity containing one OddsRepriceResult per item, in request order.
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<List<OddsRepriceResult>> repriceBatch(@RequestBody List<OddsRepriceItem> items) {
+        return ResponseEntity.ok(matchOddsService.reprice(items));
+    }
     // </editor-fold>
 }
@@ -3,20 +3,32 @@ package com.example.matchmanagementapi.domain;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HexFormat;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_matches_natural_key", columnNames = "natural_key"),
+        indexes = {
+                @Index(name = "idx_matches_kickoff", columnList = "match_date, match_time, id"),
+                @Index(name = "idx_matches_team_a", columnList = "team_a"),
+                @Index(name = "idx_matches_team_b", columnList = "team_b"),
+                @Index(name = "idx_matches_sport", columnList = "sport")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @RequiredArgsConstructor
 @ToString
-@EqualsAndHashCode(exclude = {"id"})
+@EqualsAndHashCode(exclude = {"id", "naturalKey"})
 public class Match {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matches_seq")
+    @SequenceGenerator(name = "matches_seq", sequenceName = "matches_seq", allocationSize = 50)
     private Long id;
 
     @NonNull
@@ -43,4 +55,49 @@ public class Match {
     @Column(name = "sport", nullable = false)
     @Enumerated(EnumType.ORDINAL)
     private Sport sport;
+
+    /**
+     * SHA-256 fingerprint of the duplicate-detection fields, so a whole batch
+     * can be checked against the table with a single indexed IN lookup.
+     * Unique, so concurrent inserts of the same match cannot both succeed.
+     */
+    @Column(name = "natural_key", nullable = false, length = 64)
+    private String naturalKey;
+
+    /**
+     * Optimistic-locking version, incremented by every update; a stale one fails the write with 409.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshNaturalKey() {
+        this.naturalKey = naturalKeyOf(description, matchDate, matchTime, teamA, teamB, sport);
+    }
+
+    public static String naturalKeyOf(
+            String description,
+            LocalDate matchDate,
+            LocalTime matchTime,
+            String teamA,
+            String teamB,
+            Sport sport
+    ) {
+        String raw = String.join("\u001F",
+                String.valueOf(description),
+                String.valueOf(matchDate),
+                String.valueOf(matchTime),
+                String.valueOf(teamA),
+                String.valueOf(teamB),
+                String.valueOf(sport)
+        );
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
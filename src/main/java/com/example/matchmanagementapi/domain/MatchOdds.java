@@ -2,9 +2,14 @@ package com.example.matchmanagementapi.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "match_odds")
+@Table(name = "match_odds",
+        uniqueConstraints = @UniqueConstraint(name = "uk_match_odds_match_specifier_odd",
+                columnNames = {"match_id", "specifier", "odd"}),
+        indexes = @Index(name = "idx_match_odds_odd", columnList = "odd, id"))
 @Getter
 @Setter
 @RequiredArgsConstructor
@@ -14,12 +19,14 @@ import lombok.*;
 @EqualsAndHashCode
 public class MatchOdds {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_odds_seq")
+    @SequenceGenerator(name = "match_odds_seq", sequenceName = "match_odds_seq", allocationSize = 50)
     private Long id;
 
     @NonNull
     @ManyToOne(cascade = {CascadeType.MERGE}, fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "match_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Match match;
 
     @NonNull
@@ -29,9 +36,20 @@ public class MatchOdds {
     @Column(name = "odd")
     private double odd;
 
+    /**
+     * Optimistic-locking version, incremented by every update; a stale one fails the write with 409.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public MatchOdds(Match match, String specifier, double odd) {
         this.match = match;
         this.specifier = specifier;
         this.odd = odd;
     }
+
+    public MatchOddsKey naturalKey() {
+        return new MatchOddsKey(match.getId(), specifier, odd);
+    }
 }
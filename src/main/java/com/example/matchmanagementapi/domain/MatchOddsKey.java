@@ -0,0 +1,7 @@
+package com.example.matchmanagementapi.domain;
+
+/**
+ * Natural key of a {@link MatchOdds} row, used for set-based duplicate detection.
+ */
+public record MatchOddsKey(Long matchId, String specifier, double odd) {
+}
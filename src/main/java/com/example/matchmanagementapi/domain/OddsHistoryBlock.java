@@ -0,0 +1,44 @@
+package com.example.matchmanagementapi.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A run of consecutive price ticks of one odds row, Gorilla-compressed into {@code ticks}
+ * (delta-of-delta timestamps, XOR-encoded odds). Blocks are append-only and never updated;
+ * there is no foreign key, so the history outlives a deleted odds row.
+ */
+@Entity
+@Table(name = "match_odds_history",
+        indexes = @Index(name = "idx_match_odds_history_odds_time", columnList = "odds_id, first_time"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "ticks")
+public class OddsHistoryBlock {
+    public static final int MAX_TICKS = 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_odds_history_seq")
+    @SequenceGenerator(name = "match_odds_history_seq", sequenceName = "match_odds_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "odds_id", nullable = false)
+    private Long oddsId;
+
+    @Column(name = "first_time", nullable = false)
+    private Instant firstTime;
+
+    @Column(name = "last_time", nullable = false)
+    private Instant lastTime;
+
+    @Column(name = "tick_count", nullable = false)
+    private int tickCount;
+
+    // Worst case is under 20 bytes per tick
+    @Column(name = "ticks", nullable = false, length = MAX_TICKS * 20 + 16)
+    private byte[] ticks;
+}
@@ -0,0 +1,6 @@
+package com.example.matchmanagementapi.dto;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
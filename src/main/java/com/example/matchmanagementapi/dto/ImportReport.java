@@ -0,0 +1,19 @@
+package com.example.matchmanagementapi.dto;
+
+/**
+ * Outcome of a server-side file import.
+ *
+ * @param method       "copy" when loaded with PostgreSQL COPY, "batch" for batched inserts.
+ * @param rowsSkipped  Rows dropped as duplicates (within the file or already stored).
+ */
+public record ImportReport(
+        String file,
+        ImportFormat format,
+        String method,
+        long rowsRead,
+        long rowsInserted,
+        long rowsSkipped,
+        long elapsedMillis,
+        double rowsPerSecond
+) {
+}
@@ -0,0 +1,18 @@
+package com.example.matchmanagementapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Per-chunk outcome streamed back by the NDJSON ingestion endpoints, one line per chunk.
+ *
+ * @param error Set when the chunk could not be committed; the other chunks are unaffected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IngestChunkResult(
+        int chunk,
+        int received,
+        int saved,
+        int skipped,
+        String error
+) {
+}
@@ -17,4 +17,5 @@ public class MatchDTO {
     private String teamA;
     private String teamB;
     private Sport sport;
+    private Long version;
 }
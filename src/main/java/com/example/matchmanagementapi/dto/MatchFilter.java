@@ -0,0 +1,45 @@
+package com.example.matchmanagementapi.dto;
+
+import com.example.matchmanagementapi.domain.Sport;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Optional filters shared by the match search, export, count and delete endpoints.
+ * All non-null values are combined with logical AND; bound from query parameters of the same name.
+ *
+ * @param description     Optional match description.
+ * @param teamA           Optional first team name.
+ * @param teamB           Optional second team name.
+ * @param sport           Optional sport type.
+ * @param matchDate       Optional exact match date.
+ * @param matchDateBefore Optional upper bound (exclusive) for the match date.
+ * @param matchDateAfter  Optional lower bound (exclusive) for the match date.
+ * @param matchTime       Optional exact match time.
+ * @param matchTimeBefore Optional upper bound (exclusive) for the match time.
+ * @param matchTimeAfter  Optional lower bound (exclusive) for the match time.
+ */
+public record MatchFilter(
+        String description,
+        String teamA,
+        String teamB,
+        Sport sport,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDate,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDateBefore,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate matchDateAfter,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTime,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTimeBefore,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime matchTimeAfter
+) {
+
+    /**
+     * Whether no filter is set, i.e. the filter matches every match.
+     */
+    public boolean isEmpty() {
+        return description == null && teamA == null && teamB == null && sport == null
+                && matchDate == null && matchDateBefore == null && matchDateAfter == null
+                && matchTime == null && matchTimeBefore == null && matchTimeAfter == null;
+    }
+}
@@ -16,6 +16,7 @@ public class MatchMapper {
         dto.setTeamA(entity.getTeamA());
         dto.setTeamB(entity.getTeamB());
         dto.setSport(entity.getSport());
+        dto.setVersion(entity.getVersion());
         return dto;
     }
 
@@ -10,4 +10,5 @@ public class MatchOddsDTO {
     private Long matchId;
     private String specifier;
     private double odd;
+    private Long version;
 }
@@ -0,0 +1,27 @@
+package com.example.matchmanagementapi.dto;
+
+/**
+ * Optional filters shared by the match odds search, export, count and delete endpoints.
+ * All non-null values are combined with logical AND; bound from query parameters of the same name.
+ *
+ * @param specifier Optional specifier value (e.g., "1", "X", "2").
+ * @param odd       Optional exact odd value.
+ * @param oddOver   Optional lower bound (exclusive) for odd.
+ * @param oddUnder  Optional upper bound (exclusive) for odd.
+ * @param matchId   Optional match ID.
+ */
+public record MatchOddsFilter(
+        String specifier,
+        Double odd,
+        Double oddOver,
+        Double oddUnder,
+        Long matchId
+) {
+
+    /**
+     * Whether no filter is set, i.e. the filter matches every odd.
+     */
+    public boolean isEmpty() {
+        return specifier == null && odd == null && oddOver == null && oddUnder == null && matchId == null;
+    }
+}
@@ -14,6 +14,7 @@ public class MatchOddsMapper {
         dto.setSpecifier(entity.getSpecifier());
         dto.setOdd(entity.getOdd());
         dto.setMatchId(entity.getMatch().getId());
+        dto.setVersion(entity.getVersion());
         return dto;
     }
 
@@ -0,0 +1,22 @@
+package com.example.matchmanagementapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Read-only projection of a match odd, selected directly by the read queries
+ * (no managed entity, no mapper copy). Serializes exactly like {@link MatchOddsDTO}.
+ * {@code version} is only set by single-row reads and writes; list reads leave it out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MatchOddsView(
+        Long id,
+        Long matchId,
+        String specifier,
+        double odd,
+        Long version
+) {
+
+    public MatchOddsView(Long id, Long matchId, String specifier, double odd) {
+        this(id, matchId, specifier, odd, null);
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.matchmanagementapi.dto;
+
+import com.example.matchmanagementapi.domain.Sport;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protobuf encoding of matches and odds, following {@code src/main/proto/match_management.proto}.
+ * DTOs and views are written field by field to a {@link CodedOutputStream} and read back from a
+ * {@link CodedInputStream}, so no generated message objects are built on either side.
+ * Null fields are left out; unknown fields are skipped on read. Times are sent in whole seconds.
+ */
+public final class MatchProtobufCodec {
+    public static final String MEDIA_TYPE_VALUE = "application/x-protobuf";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // MatchList.matches and MatchOddsList.odds
+    private static final int LIST_ITEM = 1 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+    // Match
+    private static final int MATCH_ID = 1 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int MATCH_DESCRIPTION = 2 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int MATCH_DATE = 3 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int MATCH_TIME = 4 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int MATCH_TEAM_A = 5 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int MATCH_TEAM_B = 6 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int MATCH_SPORT = 7 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int MATCH_VERSION = 8 << 3 | WireFormat.WIRETYPE_VARINT;
+
+    // MatchOdds
+    private static final int ODDS_ID = 1 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int ODDS_MATCH_ID = 2 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int ODDS_SPECIFIER = 3 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int ODDS_ODD = 4 << 3 | WireFormat.WIRETYPE_FIXED64;
+    private static final int ODDS_VERSION = 5 << 3 | WireFormat.WIRETYPE_VARINT;
+
+    private MatchProtobufCodec() {
+    }
+
+    // <editor-fold desc="WRITE Methods">
+    /**
+     * Writes a MatchList of {@link MatchDTO}s and/or {@link MatchView}s.
+     */
+    public static void writeMatches(List<?> matches, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        for (Object match : matches) {
+            output.writeUInt32NoTag(LIST_ITEM);
+            writeMatch(match, output, true);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes a single Match from a {@link MatchDTO} or {@link MatchView}.
+     */
+    public static void writeMatch(Object match, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        writeMatch(match, output, false);
+        output.flush();
+    }
+
+    /**
+     * Writes a MatchOddsList of {@link MatchOddsDTO}s and/or {@link MatchOddsView}s.
+     */
+    public static void writeOddsList(List<?> odds, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        for (Object o : odds) {
+            output.writeUInt32NoTag(LIST_ITEM);
+            writeOdds(o, output, true);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes a single MatchOdds from a {@link MatchOddsDTO} or {@link MatchOddsView}.
+     */
+    public static void writeOdds(Object odds, OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        writeOdds(odds, output, false);
+        output.flush();
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="READ Methods">
+    public static List<MatchDTO> readMatches(InputStream in) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(in);
+        List<MatchDTO> matches = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (tag == LIST_ITEM) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                matches.add(readMatch(input));
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return matches;
+    }
+
+    public static MatchDTO readMatch(InputStream in) throws IOException {
+        return readMatch(CodedInputStream.newInstance(in));
+    }
+
+    public static List<MatchOddsDTO> readOddsList(InputStream in) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(in);
+        List<MatchOddsDTO> odds = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (tag == LIST_ITEM) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                odds.add(readOdds(input));
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return odds;
+    }
+
+    public static MatchOddsDTO readOdds(InputStream in) throws IOException {
+        return readOdds(CodedInputStream.newInstance(in));
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    private static void writeMatch(Object match, CodedOutputStream output, boolean delimited) throws IOException {
+        if (match instanceof MatchView v) {
+            writeMatch(output, delimited, v.id(), v.description(), v.matchDate(), v.matchTime(),
+                    v.teamA(), v.teamB(), v.sport(), v.version());
+        } else if (match instanceof MatchDTO d) {
+            writeMatch(output, delimited, d.getId(), d.getDescription(), d.getMatchDate(), d.getMatchTime(),
+                    d.getTeamA(), d.getTeamB(), d.getSport(), d.getVersion());
+        } else {
+            throw new IllegalArgumentException("Not a match: " + match);
+        }
+    }
+
+    private static void writeMatch(CodedOutputStream output, boolean delimited, Long id, String description,
+                                   LocalDate matchDate, LocalTime matchTime, String teamA, String teamB,
+                                   Sport sport, Long version) throws IOException {
+        if (delimited) {
+            int size = 0;
+            if (id != null) {
+                size += CodedOutputStream.computeInt64Size(1, id);
+            }
+            if (description != null) {
+                size += CodedOutputStream.computeStringSize(2, description);
+            }
+            if (matchDate != null) {
+                size += CodedOutputStream.computeInt32Size(3, (int) matchDate.toEpochDay());
+            }
+            if (matchTime != null) {
+                size += CodedOutputStream.computeInt32Size(4, matchTime.toSecondOfDay());
+            }
+            if (teamA != null) {
+                size += CodedOutputStream.computeStringSize(5, teamA);
+            }
+            if (teamB != null) {
+                size += CodedOutputStream.computeStringSize(6, teamB);
+            }
+            if (sport != null) {
+                size += CodedOutputStream.computeEnumSize(7, sportNumber(sport));
+            }
+            if (version != null) {
+                size += CodedOutputStream.computeInt64Size(8, version);
+            }
+            output.writeUInt32NoTag(size);
+        }
+
+        if (id != null) {
+            output.writeInt64(1, id);
+        }
+        if (description != null) {
+            output.writeString(2, description);
+        }
+        if (matchDate != null) {
+            output.writeInt32(3, (int) matchDate.toEpochDay());
+        }
+        if (matchTime != null) {
+            output.writeInt32(4, matchTime.toSecondOfDay());
+        }
+        if (teamA != null) {
+            output.writeString(5, teamA);
+        }
+        if (teamB != null) {
+            output.writeString(6, teamB);
+        }
+        if (sport != null) {
+            output.writeEnum(7, sportNumber(sport));
+        }
+        if (version != null) {
+            output.writeInt64(8, version);
+        }
+    }
+
+    private static void writeOdds(Object odds, CodedOutputStream output, boolean delimited) throws IOException {
+        if (odds instanceof MatchOddsView v) {
+            writeOdds(output, delimited, v.id(), v.matchId(), v.specifier(), v.odd(), v.version());
+        } else if (odds instanceof MatchOddsDTO d) {
+            writeOdds(output, delimited, d.getId(), d.getMatchId(), d.getSpecifier(), d.getOdd(), d.getVersion());
+        } else {
+            throw new IllegalArgumentException("Not match odds: " + odds);
+        }
+    }
+
+    private static void writeOdds(CodedOutputStream output, boolean delimited, Long id, Long matchId,
+                                  String specifier, double odd, Long version) throws IOException {
+        if (delimited) {
+            int size = CodedOutputStream.computeDoubleSize(4, odd);
+            if (id != null) {
+                size += CodedOutputStream.computeInt64Size(1, id);
+            }
+            if (matchId != null) {
+                size += CodedOutputStream.computeInt64Size(2, matchId);
+            }
+            if (specifier != null) {
+                size += CodedOutputStream.computeStringSize(3, specifier);
+            }
+            if (version != null) {
+                size += CodedOutputStream.computeInt64Size(5, version);
+            }
+            output.writeUInt32NoTag(size);
+        }
+
+        if (id != null) {
+            output.writeInt64(1, id);
+        }
+        if (matchId != null) {
+            output.writeInt64(2, matchId);
+        }
+        if (specifier != null) {
+            output.writeString(3, specifier);
+        }
+        output.writeDouble(4, odd);
+        if (version != null) {
+            output.writeInt64(5, version);
+        }
+    }
+
+    private static MatchDTO readMatch(CodedInputStream input) throws IOException {
+        MatchDTO dto = new MatchDTO();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (tag) {
+                case MATCH_ID -> dto.setId(input.readInt64());
+                case MATCH_DESCRIPTION -> dto.setDescription(input.readStringRequireUtf8());
+                case MATCH_DATE -> dto.setMatchDate(LocalDate.ofEpochDay(input.readInt32()));
+                case MATCH_TIME -> dto.setMatchTime(LocalTime.ofSecondOfDay(input.readInt32()));
+                case MATCH_TEAM_A -> dto.setTeamA(input.readStringRequireUtf8());
+                case MATCH_TEAM_B -> dto.setTeamB(input.readStringRequireUtf8());
+                case MATCH_SPORT -> dto.setSport(sport(input.readEnum()));
+                case MATCH_VERSION -> dto.setVersion(input.readInt64());
+                default -> input.skipField(tag);
+            }
+        }
+        return dto;
+    }
+
+    private static MatchOddsDTO readOdds(CodedInputStream input) throws IOException {
+        MatchOddsDTO dto = new MatchOddsDTO();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (tag) {
+                case ODDS_ID -> dto.setId(input.readInt64());
+                case ODDS_MATCH_ID -> dto.setMatchId(input.readInt64());
+                case ODDS_SPECIFIER -> dto.setSpecifier(input.readStringRequireUtf8());
+                case ODDS_ODD -> dto.setOdd(input.readDouble());
+                case ODDS_VERSION -> dto.setVersion(input.readInt64());
+                default -> input.skipField(tag);
+            }
+        }
+        return dto;
+    }
+
+    private static int sportNumber(Sport sport) {
+        return switch (sport) {
+            case Football -> 1;
+            case Basketball -> 2;
+        };
+    }
+
+    private static Sport sport(int number) {
+        return switch (number) {
+            case 1 -> Sport.Football;
+            case 2 -> Sport.Basketball;
+            default -> null;
+        };
+    }
+    // </editor-fold>
+}
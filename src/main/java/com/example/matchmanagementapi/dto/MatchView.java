@@ -0,0 +1,30 @@
+package com.example.matchmanagementapi.dto;
+
+import com.example.matchmanagementapi.domain.Sport;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only projection of a match, selected directly by the read queries
+ * (no managed entity, no mapper copy). Serializes exactly like {@link MatchDTO}.
+ * {@code version} is only set by single-row reads; list reads leave it out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MatchView(
+        Long id,
+        String description,
+        LocalDate matchDate,
+        LocalTime matchTime,
+        String teamA,
+        String teamB,
+        Sport sport,
+        Long version
+) {
+
+    public MatchView(Long id, String description, LocalDate matchDate, LocalTime matchTime,
+                     String teamA, String teamB, Sport sport) {
+        this(id, description, matchDate, matchTime, teamA, teamB, sport, null);
+    }
+}
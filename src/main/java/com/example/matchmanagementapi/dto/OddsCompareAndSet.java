@@ -0,0 +1,16 @@
+package com.example.matchmanagementapi.dto;
+
+/**
+ * Body of PATCH /api/matchOdds/{id}/odd: the new odd, applied only if the row still has the
+ * expected version and/or odd. At least one expectation is required.
+ *
+ * @param odd             The new odd.
+ * @param expectedVersion Optional version the row must still have.
+ * @param expectedOdd     Optional odd the row must still have.
+ */
+public record OddsCompareAndSet(
+        Double odd,
+        Long expectedVersion,
+        Double expectedOdd
+) {
+}
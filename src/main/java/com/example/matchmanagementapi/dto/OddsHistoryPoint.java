@@ -0,0 +1,15 @@
+package com.example.matchmanagementapi.dto;
+
+import java.time.Instant;
+
+/**
+ * One recorded price of a match odd.
+ *
+ * @param time When the price was saved (millisecond precision).
+ * @param odd  The price from that time on.
+ */
+public record OddsHistoryPoint(
+        Instant time,
+        double odd
+) {
+}
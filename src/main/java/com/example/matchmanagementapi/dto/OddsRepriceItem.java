@@ -0,0 +1,18 @@
+package com.example.matchmanagementapi.dto;
+
+/**
+ * One entry of a PATCH /api/matchOdds/batch request: the new odd of the row with {@code id},
+ * or of the only row of match {@code matchId} with {@code specifier}.
+ *
+ * @param id        The match odds ID; takes precedence over matchId/specifier.
+ * @param matchId   The match ID, used with specifier when id is absent.
+ * @param specifier The specifier, used with matchId when id is absent.
+ * @param odd       The new odd.
+ */
+public record OddsRepriceItem(
+        Long id,
+        Long matchId,
+        String specifier,
+        Double odd
+) {
+}
@@ -0,0 +1,37 @@
+package com.example.matchmanagementapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one entry of a PATCH /api/matchOdds/batch request, in request order.
+ *
+ * @param index   Position of the entry in the request.
+ * @param id      The match odds ID the entry resolved to, if any.
+ * @param status  What happened to the entry.
+ * @param message Why the entry was not applied.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OddsRepriceResult(
+        int index,
+        Long id,
+        Status status,
+        String message
+) {
+
+    public enum Status {
+        /** The odd was changed. */
+        UPDATED,
+        /** The row already had this odd. */
+        UNCHANGED,
+        /** A later entry of the same request targets the same row and wins. */
+        SUPERSEDED,
+        /** The entry has no odd, or neither an id nor a matchId and specifier. */
+        INVALID,
+        /** No row has this id, or this match has no odds with this specifier. */
+        NOT_FOUND,
+        /** The match has several odds with this specifier; address them by id. */
+        AMBIGUOUS,
+        /** Another odds row of the same match and specifier has, or is getting, this odd. */
+        CONFLICT
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.matchmanagementapi.dto;
+
+import java.util.List;
+
+/**
+ * Server-sent event payload of the odds streams: the current odds of one specifier of a match.
+ * Sent on subscribe and again after every change; an empty list means the specifier has no odds left.
+ *
+ * @param matchId   The match ID.
+ * @param specifier The specifier whose odds changed (e.g., "1", "X", "2").
+ * @param odds      All current odds of the match with this specifier.
+ */
+public record OddsUpdate(
+        Long matchId,
+        String specifier,
+        List<MatchOddsView> odds
+) {
+}
@@ -0,0 +1,26 @@
+package com.example.matchmanagementapi.exception;
+
+import com.example.matchmanagementapi.dto.ImportReport;
+import lombok.Getter;
+
+/**
+ * An import stopped at an invalid line, or at a chunk of lines {@code line}..{@code lastLine} that
+ * could not be written. Chunks written before that stay committed; {@link #getReport()} counts them.
+ */
+@Getter
+public class ImportFailedException extends RuntimeException {
+    private final long line;
+    private final long lastLine;
+    private final ImportReport report;
+
+    public ImportFailedException(String message, long line, ImportReport report, Throwable cause) {
+        this(message, line, line, report, cause);
+    }
+
+    public ImportFailedException(String message, long line, long lastLine, ImportReport report, Throwable cause) {
+        super(message, cause);
+        this.line = line;
+        this.lastLine = lastLine;
+        this.report = report;
+    }
+}
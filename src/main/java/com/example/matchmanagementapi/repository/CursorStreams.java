@@ -0,0 +1,37 @@
+package com.example.matchmanagementapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Runs a {@link Specification} as a forward-only JDBC cursor. Rows are fetched
+ * {@code fetchSize} at a time, loaded read-only and detached as soon as they are
+ * handed out, so the persistence context does not grow with the result size.
+ * The stream must be consumed and closed inside the caller's transaction.
+ */
+final class CursorStreams {
+    private CursorStreams() {
+    }
+
+    static <T> Stream<T> stream(EntityManager entityManager, Class<T> type, Specification<T> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root).orderBy(cb.asc(root.get("id")));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+}
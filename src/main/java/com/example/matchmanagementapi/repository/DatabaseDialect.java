@@ -0,0 +1,26 @@
+package com.example.matchmanagementapi.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the writers of this package which SQL dialect to speak: PostgreSQL, or H2 otherwise.
+ * Detected from the first connection that is asked and remembered from then on.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseDialect {
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> c.isWrapperFor(PGConnection.class));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Inserts a single row in one statement that skips it when the natural-key unique
+ * constraint already holds a matching row, so there is no window between a duplicate
+ * check and the insert. PostgreSQL uses {@code ON CONFLICT DO NOTHING RETURNING id};
+ * H2 uses {@code INSERT ... SELECT ... WHERE NOT EXISTS} inside a {@code FINAL TABLE}
+ * query, with a concurrent duplicate caught through the unique constraint.
+ * IDs come from the entity sequences, as in {@link PostgresCopyWriter}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InsertOrSkipWriter {
+    private static final String MATCH_COLUMNS =
+            "id, description, match_date, match_time, team_a, team_b, sport, natural_key, version";
+    private static final String MATCH_ODDS_COLUMNS = "id, match_id, specifier, odd, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    /**
+     * Inserts the match unless one with the same natural key exists.
+     *
+     * @return The generated ID, or empty when the match was skipped as a duplicate.
+     */
+    public Optional<Long> insertMatch(Match match) {
+        Object[] values = {
+                match.getDescription(),
+                match.getMatchDate(),
+                match.getMatchTime(),
+                match.getTeamA(),
+                match.getTeamB(),
+                match.getSport().ordinal(),
+                match.getNaturalKey()
+        };
+
+        if (databaseDialect.isPostgres()) {
+            return insert("INSERT INTO matches (" + MATCH_COLUMNS + ") " +
+                    "VALUES (nextval('matches_seq'), ?, ?, ?, ?, ?, ?, ?, 0) " +
+                    "ON CONFLICT (natural_key) DO NOTHING RETURNING id", values);
+        }
+        return insert("SELECT id FROM FINAL TABLE (INSERT INTO matches (" + MATCH_COLUMNS + ") " +
+                        "SELECT NEXT VALUE FOR matches_seq, ?, ?, ?, ?, ?, ?, ?, 0 " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM matches WHERE natural_key = ?))",
+                append(values, match.getNaturalKey()));
+    }
+
+    /**
+     * Inserts the odd unless one with the same match, specifier and odd exists.
+     *
+     * @return The generated ID, or empty when the odd was skipped as a duplicate.
+     */
+    public Optional<Long> insertMatchOdds(MatchOdds odds) {
+        Object[] values = {odds.getMatch().getId(), odds.getSpecifier(), odds.getOdd()};
+
+        if (databaseDialect.isPostgres()) {
+            return insert("INSERT INTO match_odds (" + MATCH_ODDS_COLUMNS + ") " +
+                    "VALUES (nextval('match_odds_seq'), ?, ?, ?, 0) " +
+                    "ON CONFLICT (match_id, specifier, odd) DO NOTHING RETURNING id", values);
+        }
+        return insert("SELECT id FROM FINAL TABLE (INSERT INTO match_odds (" + MATCH_ODDS_COLUMNS + ") " +
+                        "SELECT NEXT VALUE FOR match_odds_seq, ?, ?, ?, 0 " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM match_odds WHERE match_id = ? AND specifier = ? AND odd = ?))",
+                append(values, values));
+    }
+
+    private Optional<Long> insert(String sql, Object[] args) {
+        try {
+            List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, args);
+            return ids.stream().findFirst();
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Object[] append(Object[] values, Object... extra) {
+        Object[] all = new Object[values.length + extra.length];
+        System.arraycopy(values, 0, all, 0, values.length);
+        System.arraycopy(extra, 0, all, values.length, extra.length);
+        return all;
+    }
+}
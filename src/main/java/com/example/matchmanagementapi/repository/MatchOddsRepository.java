@@ -1,15 +1,45 @@
 package com.example.matchmanagementapi.repository;
 
 import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.domain.MatchOddsKey;
+import com.example.matchmanagementapi.dto.MatchOddsView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface MatchOddsRepository extends JpaRepository<MatchOdds, Long>, JpaSpecificationExecutor<MatchOdds> {
+public interface MatchOddsRepository extends JpaRepository<MatchOdds, Long>, JpaSpecificationExecutor<MatchOdds>, MatchOddsRepositoryCustom {
     List<MatchOdds> findByMatchId(Long matchId);
 
-    boolean existsBySpecifierAndOddAndMatch_Id(String specifier, double odd, Long matchId);
+    @Query("SELECT new com.example.matchmanagementapi.domain.MatchOddsKey(o.match.id, o.specifier, o.odd) " +
+            "FROM MatchOdds o WHERE o.match.id IN :matchIds")
+    List<MatchOddsKey> findKeysByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("SELECT new com.example.matchmanagementapi.dto.MatchOddsView(o.id, o.match.id, o.specifier, o.odd, o.version) " +
+            "FROM MatchOdds o WHERE o.id = :id")
+    Optional<MatchOddsView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.matchmanagementapi.dto.MatchOddsView(o.id, o.match.id, o.specifier, o.odd) " +
+            "FROM MatchOdds o WHERE o.match.id = :matchId ORDER BY o.id")
+    List<MatchOddsView> findViewsByMatchId(@Param("matchId") Long matchId);
+
+    @Query("SELECT new com.example.matchmanagementapi.dto.MatchOddsView(o.id, o.match.id, o.specifier, o.odd) " +
+            "FROM MatchOdds o WHERE o.id IN :ids")
+    List<MatchOddsView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the odds in one statement without loading them.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MatchOdds o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
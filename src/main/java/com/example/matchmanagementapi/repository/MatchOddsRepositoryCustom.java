@@ -0,0 +1,28 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MatchOddsRepositoryCustom {
+    /**
+     * Streams every MatchOdds matching {@code spec} in id order through a database cursor
+     * (fetch size {@code app.export.fetch-size}). Must be called inside a transaction
+     * and closed after use.
+     */
+    Stream<MatchOdds> streamAll(Specification<MatchOdds> spec);
+
+    /**
+     * Selects at most {@code limit} odds matching {@code spec} straight into {@link MatchOddsView}s.
+     */
+    List<MatchOddsView> findViews(Specification<MatchOdds> spec, Sort sort, int limit);
+
+    /**
+     * Selects the IDs of all odds matching {@code spec}, in id order.
+     */
+    List<Long> findIds(Specification<MatchOdds> spec);
+}
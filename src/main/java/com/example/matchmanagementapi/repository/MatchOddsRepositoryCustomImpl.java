@@ -0,0 +1,60 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MatchOddsRepositoryCustomImpl implements MatchOddsRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<MatchOdds> streamAll(Specification<MatchOdds> spec) {
+        return CursorStreams.stream(entityManager, MatchOdds.class, spec, fetchSize);
+    }
+
+    @Override
+    public List<MatchOddsView> findViews(Specification<MatchOdds> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchOddsView> query = cb.createQuery(MatchOddsView.class);
+        Root<MatchOdds> root = query.from(MatchOdds.class);
+        query.select(cb.construct(MatchOddsView.class,
+                root.get("id"),
+                root.get("match").get("id"),
+                root.get("specifier"),
+                root.get("odd")
+        ));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<MatchOdds> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<MatchOdds> root = query.from(MatchOdds.class);
+        query.select(root.get("id"));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
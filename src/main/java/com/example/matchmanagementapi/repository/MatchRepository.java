@@ -1,28 +1,41 @@
 package com.example.matchmanagementapi.repository;
 
 import com.example.matchmanagementapi.domain.Match;
-import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.MatchView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match> {
-    boolean existsByDescriptionAndMatchDateAndMatchTimeAndTeamAAndTeamBAndSport(
-            String description,
-            LocalDate matchDate,
-            LocalTime matchTime,
-            String teamA,
-            String teamB,
-            Sport sport
-    );
+public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match>, MatchRepositoryCustom {
+    @Query("SELECT m.naturalKey FROM Match m WHERE m.naturalKey IN :naturalKeys")
+    Set<String> findExistingNaturalKeys(@Param("naturalKeys") Collection<String> naturalKeys);
+
+    @Query("SELECT new com.example.matchmanagementapi.dto.MatchView(" +
+            "m.id, m.description, m.matchDate, m.matchTime, m.teamA, m.teamB, m.sport, m.version) " +
+            "FROM Match m WHERE m.id = :id")
+    Optional<MatchView> findViewById(@Param("id") Long id);
+
+    /**
+     * Deletes the matches in one statement without loading them; their odds are removed by the
+     * {@code ON DELETE CASCADE} foreign key of match_odds.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Match m WHERE m.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
 
 //  REMOVED - Query-like Example
 //    @Modifying
 //    @Transactional
 //    @Query("UPDATE Match m SET m.description = :description WHERE m.id = :id")
-//    void updateDescriptionById(@Param("id") long id, @Param("description") String description);
\ No newline at end of file
+//    void updateDescriptionById(@Param("id") long id, @Param("description") String description);
@@ -0,0 +1,28 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.dto.MatchView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface MatchRepositoryCustom {
+    /**
+     * Streams every Match matching {@code spec} in id order through a database cursor
+     * (fetch size {@code app.export.fetch-size}). Must be called inside a transaction
+     * and closed after use.
+     */
+    Stream<Match> streamAll(Specification<Match> spec);
+
+    /**
+     * Selects at most {@code limit} matches matching {@code spec} straight into {@link MatchView}s.
+     */
+    List<MatchView> findViews(Specification<Match> spec, Sort sort, int limit);
+
+    /**
+     * Selects the IDs of all matches matching {@code spec}, in id order.
+     */
+    List<Long> findIds(Specification<Match> spec);
+}
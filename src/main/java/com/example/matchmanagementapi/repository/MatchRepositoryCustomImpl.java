@@ -0,0 +1,63 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.dto.MatchView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MatchRepositoryCustomImpl implements MatchRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Match> streamAll(Specification<Match> spec) {
+        return CursorStreams.stream(entityManager, Match.class, spec, fetchSize);
+    }
+
+    @Override
+    public List<MatchView> findViews(Specification<Match> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchView> query = cb.createQuery(MatchView.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(cb.construct(MatchView.class,
+                root.get("id"),
+                root.get("description"),
+                root.get("matchDate"),
+                root.get("matchTime"),
+                root.get("teamA"),
+                root.get("teamB"),
+                root.get("sport")
+        ));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Match> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(root.get("id"));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
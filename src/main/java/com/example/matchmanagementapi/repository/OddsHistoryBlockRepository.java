@@ -0,0 +1,16 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.OddsHistoryBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OddsHistoryBlockRepository extends JpaRepository<OddsHistoryBlock, Long> {
+    List<OddsHistoryBlock> findByOddsIdOrderByFirstTimeAscIdAsc(Long oddsId);
+
+    Optional<OddsHistoryBlock> findFirstByOddsIdAndFirstTimeLessThanEqualOrderByFirstTimeDescIdDesc(Long oddsId, Instant time);
+}
@@ -0,0 +1,85 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rewrites the odd of many rows in one transaction: every odds row of the affected matches is
+ * locked with one {@code SELECT ... FOR UPDATE} (in (match, id) order, so concurrent batches
+ * cannot deadlock), and the new odds are written with one
+ * {@code MERGE INTO match_odds USING (VALUES ...)} statement per chunk of
+ * {@code CHUNK_SIZE} rows instead of one read-modify-write per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OddsRepriceWriter {
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String ROW_COLUMNS = "id, match_id, specifier, odd, version";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the current odds of the matches that own {@code oddsIds} or are listed in {@code matchIds},
+     * lets {@code plan} decide which of them to change, and writes the new odds of the rows it returns.
+     *
+     * @return The rows written, as returned by {@code plan}; each is written with version + 1.
+     */
+    @Transactional
+    public List<MatchOddsView> reprice(Collection<Long> oddsIds, Collection<Long> matchIds,
+                                       UnaryOperator<List<MatchOddsView>> plan) {
+        Set<Long> lockedMatchIds = new LinkedHashSet<>(matchIds);
+        for (List<Long> chunk : chunks(new ArrayList<>(oddsIds))) {
+            lockedMatchIds.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT match_id FROM match_odds WHERE id IN (" + placeholders(chunk.size()) + ")",
+                    Long.class, chunk.toArray()));
+        }
+
+        List<Long> sortedMatchIds = new ArrayList<>(lockedMatchIds);
+        Collections.sort(sortedMatchIds);
+        List<MatchOddsView> current = new ArrayList<>();
+        for (List<Long> chunk : chunks(sortedMatchIds)) {
+            current.addAll(jdbcTemplate.query(
+                    "SELECT " + ROW_COLUMNS + " FROM match_odds WHERE match_id IN (" + placeholders(chunk.size()) + ") " +
+                            "ORDER BY match_id, id FOR UPDATE",
+                    (rs, i) -> new MatchOddsView(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getDouble(4), rs.getLong(5)),
+                    chunk.toArray()));
+        }
+
+        List<MatchOddsView> changed = plan.apply(current);
+        for (List<MatchOddsView> chunk : chunks(changed)) {
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i * 2] = chunk.get(i).id();
+                args[i * 2 + 1] = chunk.get(i).odd();
+            }
+            jdbcTemplate.update("MERGE INTO match_odds o USING (VALUES " +
+                    String.join(", ", Collections.nCopies(chunk.size(), "(CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION))")) +
+                    ") AS v(id, odd) ON o.id = v.id WHEN MATCHED THEN UPDATE SET odd = v.odd, version = o.version + 1", args);
+        }
+        return changed;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + CHUNK_SIZE, items.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
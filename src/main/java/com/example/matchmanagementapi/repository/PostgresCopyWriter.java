@@ -0,0 +1,104 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Loads rows with PostgreSQL {@code COPY ... FROM STDIN}. IDs are drawn from the
+ * entity sequences in one query per chunk; with the pooled optimizer every
+ * {@code nextval} is the top of its own block, so they never collide with IDs
+ * handed out by Hibernate.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostgresCopyWriter {
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    public boolean isSupported() {
+        return databaseDialect.isPostgres();
+    }
+
+    public long copyMatches(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = nextIds("matches_seq", matches.size());
+        StringBuilder csv = new StringBuilder(matches.size() * 128);
+        for (int i = 0; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            match.setId(ids.get(i));
+            match.setVersion(0L);
+            csv.append(match.getId()).append(',')
+                    .append(escape(match.getDescription())).append(',')
+                    .append(match.getMatchDate()).append(',')
+                    .append(match.getMatchTime()).append(',')
+                    .append(escape(match.getTeamA())).append(',')
+                    .append(escape(match.getTeamB())).append(',')
+                    .append(match.getSport().ordinal()).append(',')
+                    .append(match.getNaturalKey()).append(",0\n");
+        }
+
+        return copyIn("COPY matches (id, description, match_date, match_time, team_a, team_b, sport, natural_key, version) " +
+                "FROM STDIN WITH (FORMAT csv)", csv);
+    }
+
+    public long copyMatchOdds(List<MatchOdds> matchOddsList) {
+        if (matchOddsList.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = nextIds("match_odds_seq", matchOddsList.size());
+        StringBuilder csv = new StringBuilder(matchOddsList.size() * 48);
+        for (int i = 0; i < matchOddsList.size(); i++) {
+            MatchOdds odds = matchOddsList.get(i);
+            odds.setId(ids.get(i));
+            odds.setVersion(0L);
+            csv.append(odds.getId()).append(',')
+                    .append(odds.getMatch().getId()).append(',')
+                    .append(escape(odds.getSpecifier())).append(',')
+                    .append(odds.getOdd()).append(",0\n");
+        }
+
+        return copyIn("COPY match_odds (id, match_id, specifier, odd, version) FROM STDIN WITH (FORMAT csv)", csv);
+    }
+
+    private List<Long> nextIds(String sequence, int count) {
+        return jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, count);
+    }
+
+    private long copyIn(String sql, CharSequence csv) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return copyManager.copyIn(sql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new IllegalStateException("COPY failed", e);
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * Quotes the value when COPY's csv format would misread it; an unquoted empty field is NULL, so empty
+     * strings are always quoted.
+     */
+    private static String escape(String value) {
+        if (!value.isEmpty() && value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.matchmanagementapi.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of repository calls that run at the same time.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} every request runs on its own virtual thread,
+ * so a burst can put thousands of callers in front of a connection pool of a few connections.
+ * Each call into a repository or writer of this package, and each {@code @Transactional} method,
+ * first takes one of {@code app.db.limiter.max-concurrency} permits (fair, so callers are served in
+ * arrival order); waiting here only parks a virtual thread, instead of failing with a pool timeout.
+ * The advice runs before the transaction interceptor, so a connection is only ever taken while
+ * holding a permit, and calls made while a permit is already held (a repository call inside a
+ * transaction) reuse it. A caller that cannot get a permit within
+ * {@code app.db.limiter.acquire-timeout} is rejected with a {@link TransientDataAccessResourceException} (503).
+ * <p>
+ * Published metrics: {@code db.limiter.wait} (time spent waiting for a permit),
+ * {@code db.limiter.active} and {@code db.limiter.waiting}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RepositoryConcurrencyLimiter {
+    private static final ThreadLocal<Boolean> HOLDING_PERMIT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+
+    public RepositoryConcurrencyLimiter(
+            @Value("${app.db.limiter.enabled:true}") boolean enabled,
+            @Value("${app.db.limiter.max-concurrency:10}") int maxConcurrency,
+            @Value("${app.db.limiter.acquire-timeout:30s}") Duration acquireTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.waitTimer = Timer.builder("db.limiter.wait")
+                .description("Time repository calls waited for a database permit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("db.limiter.active", this, RepositoryConcurrencyLimiter::getActiveCount)
+                .description("Repository calls currently holding a database permit")
+                .register(meterRegistry);
+        Gauge.builder("db.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("Repository calls waiting for a database permit")
+                .register(meterRegistry);
+    }
+
+    @Around("within(com.example.matchmanagementapi.repository..*)"
+            + " || this(org.springframework.data.repository.Repository)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)")
+    public Object limit(ProceedingJoinPoint call) throws Throwable {
+        if (!enabled || HOLDING_PERMIT.get() != null) {
+            return call.proceed();
+        }
+
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw new TransientDataAccessResourceException("The database is busy, please retry later.");
+        }
+
+        HOLDING_PERMIT.set(Boolean.TRUE);
+        try {
+            return call.proceed();
+        } finally {
+            HOLDING_PERMIT.remove();
+            permits.release();
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Updates or deletes one odds row by ID in a single statement that also returns the row, so
+ * callers need no prior SELECT to detect a missing row (404) or to know which (match, specifier)
+ * pair the row left. Matches are overwritten the same way, returning the version written. PostgreSQL uses {@code RETURNING} (reading the old values of an update
+ * through a locking CTE); H2 selects them from an {@code OLD TABLE} or {@code FINAL TABLE} query,
+ * as {@link InsertOrSkipWriter} does. Every update increments the row's version.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SingleRowWriter {
+    private static final String MATCH_ODDS_COLUMNS = "id, match_id, specifier, odd, version";
+    private static final RowMapper<MatchOddsView> MATCH_ODDS_ROW = (rs, i) ->
+            new MatchOddsView(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getDouble(4), rs.getLong(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    /**
+     * Overwrites every field of the match with this ID and increments its version, without loading it.
+     * Transactional for the same reason as {@link #updateMatchOdds}: a natural-key conflict must not
+     * leave a half-applied {@code FINAL TABLE} update behind on H2.
+     *
+     * @return The version written by the update, or empty when no match has this ID.
+     */
+    @Transactional
+    public Optional<Long> updateMatch(long id, Match match) {
+        String update = "UPDATE matches SET description = ?, match_date = ?, match_time = ?, team_a = ?, team_b = ?, " +
+                "sport = ?, natural_key = ?, version = version + 1 WHERE id = ?";
+        Object[] values = {
+                match.getDescription(),
+                match.getMatchDate(),
+                match.getMatchTime(),
+                match.getTeamA(),
+                match.getTeamB(),
+                match.getSport().ordinal(),
+                match.getNaturalKey(),
+                id
+        };
+
+        String sql = databaseDialect.isPostgres()
+                ? update + " RETURNING version"
+                : "SELECT version FROM FINAL TABLE (" + update + ")";
+        return jdbcTemplate.queryForList(sql, Long.class, values).stream().findFirst();
+    }
+
+    /**
+     * Overwrites the match, specifier and odd of the row with the ID of {@code odds}.
+     * Runs in a transaction because H2 does not undo a failed {@code OLD TABLE} update on its own:
+     * a unique-constraint violation would otherwise leave the row deleted.
+     *
+     * @return The row before the update, or empty when no row has this ID.
+     */
+    @Transactional
+    public Optional<MatchOddsView> updateMatchOdds(MatchOdds odds) {
+        Object[] values = {odds.getMatch().getId(), odds.getSpecifier(), odds.getOdd(), odds.getId()};
+
+        if (databaseDialect.isPostgres()) {
+            return queryForRow("WITH old AS (SELECT " + MATCH_ODDS_COLUMNS + " FROM match_odds WHERE id = ? FOR UPDATE) " +
+                            "UPDATE match_odds o SET match_id = ?, specifier = ?, odd = ?, version = old.version + 1 " +
+                            "FROM old WHERE o.id = old.id " +
+                            "RETURNING old.id, old.match_id, old.specifier, old.odd, old.version",
+                    odds.getId(), values[0], values[1], values[2]);
+        }
+        return queryForRow("SELECT " + MATCH_ODDS_COLUMNS + " FROM OLD TABLE (" +
+                "UPDATE match_odds SET match_id = ?, specifier = ?, odd = ?, version = version + 1 WHERE id = ?)", values);
+    }
+
+    /**
+     * Sets the odd of the row only if it still has {@code expectedVersion} and/or {@code expectedOdd}
+     * (a {@code null} expectation is not checked). Transactional for the same reason as {@link #updateMatchOdds}.
+     *
+     * @return The row after the update, or empty when no row has this ID and the expected values.
+     */
+    @Transactional
+    public Optional<MatchOddsView> compareAndSetOdd(long id, double odd, Long expectedVersion, Double expectedOdd) {
+        StringBuilder update = new StringBuilder("UPDATE match_odds SET odd = ?, version = version + 1 WHERE id = ?");
+        List<Object> args = new ArrayList<>(List.of(odd, id));
+        if (expectedVersion != null) {
+            update.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        if (expectedOdd != null) {
+            update.append(" AND odd = ?");
+            args.add(expectedOdd);
+        }
+
+        if (databaseDialect.isPostgres()) {
+            return queryForRow(update + " RETURNING " + MATCH_ODDS_COLUMNS, args.toArray());
+        }
+        return queryForRow("SELECT " + MATCH_ODDS_COLUMNS + " FROM FINAL TABLE (" + update + ")", args.toArray());
+    }
+
+    /**
+     * Deletes the row with this ID.
+     *
+     * @return The deleted row, or empty when no row has this ID.
+     */
+    public Optional<MatchOddsView> deleteMatchOdds(long id) {
+        if (databaseDialect.isPostgres()) {
+            return queryForRow("DELETE FROM match_odds WHERE id = ? RETURNING " + MATCH_ODDS_COLUMNS, id);
+        }
+        return queryForRow("SELECT " + MATCH_ODDS_COLUMNS + " FROM OLD TABLE (DELETE FROM match_odds WHERE id = ?)", id);
+    }
+
+    private Optional<MatchOddsView> queryForRow(String sql, Object... args) {
+        return jdbcTemplate.query(sql, MATCH_ODDS_ROW, args).stream().findFirst();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.matchmanagementapi.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.RollbackException;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Inserts new entities and updates detached ones through a Hibernate {@link StatelessSession}:
+ * no persistence context, no dirty checking and JDBC batching at {@code app.batch.size}.
+ * Entity callbacks such as {@code @PrePersist} are not invoked, so callers must
+ * prepare derived columns themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatelessBulkWriter {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.batch.size:500}")
+    private int batchSize;
+
+    public <T> List<T> insertAll(Collection<T> entities) {
+        return write(entities, StatelessSession::insert);
+    }
+
+    /**
+     * Writes every column of each entity with one UPDATE by ID, in iteration order and in one transaction.
+     */
+    public <T> List<T> updateAll(Collection<T> entities) {
+        return write(entities, StatelessSession::update);
+    }
+
+    private <T> List<T> write(Collection<T> entities, BiConsumer<StatelessSession, Object> operation) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                for (T entity : entities) {
+                    operation.accept(session, entity);
+                }
+                transaction.commit();
+            } catch (RollbackException e) {
+                // A failed batch is only executed on commit; surface the failure itself so it is translated
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+        return new ArrayList<>(entities);
+    }
+}
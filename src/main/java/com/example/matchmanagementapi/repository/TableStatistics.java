@@ -0,0 +1,36 @@
+package com.example.matchmanagementapi.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * Row-count estimates read from the database's own statistics instead of scanning the table:
+ * {@code pg_class.reltuples} on PostgreSQL (kept current by ANALYZE and autovacuum) and
+ * {@code INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE} on H2.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatistics {
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    /**
+     * Returns the estimated number of rows of {@code table}, or empty when the database has no
+     * estimate yet (a PostgreSQL table that was never analyzed).
+     */
+    public OptionalLong estimateRowCount(String table) {
+        List<Long> estimate = databaseDialect.isPostgres()
+                ? jdbcTemplate.queryForList("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table)
+                : jdbcTemplate.queryForList("SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES " +
+                        "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ?", Long.class, table.toUpperCase(Locale.ROOT));
+        if (estimate.isEmpty() || estimate.getFirst() == null || estimate.getFirst() < 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(estimate.getFirst());
+    }
+}
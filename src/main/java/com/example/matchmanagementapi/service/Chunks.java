@@ -0,0 +1,23 @@
+package com.example.matchmanagementapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits large inputs into fixed-size chunks so IN lists and batches stay
+ * within database parameter limits.
+ */
+final class Chunks {
+    static final int DEFAULT_SIZE = 1000;
+
+    private Chunks() {
+    }
+
+    static <T> List<List<T>> of(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchMapper;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exports matches and odds as NDJSON or CSV. Rows are read through a database cursor
+ * ({@code app.export.fetch-size} rows per round trip), mapped to their DTO and written
+ * to the output one at a time, so memory use does not depend on the table size.
+ * CSV output uses the same header as {@link ImportService} expects, so exports can be re-imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+    private static final List<String> MATCH_COLUMNS =
+            List.of("id", "description", "matchDate", "matchTime", "teamA", "teamB", "sport");
+    private static final List<String> MATCH_ODDS_COLUMNS =
+            List.of("id", "matchId", "specifier", "odd");
+
+    private final MatchService matchService;
+    private final MatchOddsService matchOddsService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportMatches(MatchFilter filter, ImportFormat format, OutputStream out) throws IOException {
+        try (Stream<Match> matches = matchService.streamMatches(filter)) {
+            return write(matches.map(MatchMapper::toDTO), format, MATCH_COLUMNS, dto -> List.of(
+                    dto.getId(), dto.getDescription(), dto.getMatchDate(), dto.getMatchTime(),
+                    dto.getTeamA(), dto.getTeamB(), dto.getSport()
+            ), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportMatchOdds(MatchOddsFilter filter, ImportFormat format, OutputStream out) throws IOException {
+        try (Stream<MatchOdds> odds = matchOddsService.streamMatchOdds(filter)) {
+            return write(odds.map(MatchOddsMapper::toDTO), format, MATCH_ODDS_COLUMNS, dto -> List.of(
+                    dto.getId(), dto.getMatchId(), dto.getSpecifier(), dto.getOdd()
+            ), out);
+        }
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private <D> long write(Stream<D> rows, ImportFormat format, List<String> columns,
+                           Function<D, List<Object>> values, OutputStream out) throws IOException {
+        return format == ImportFormat.CSV
+                ? writeCsv(rows.iterator(), columns, values, out)
+                : writeNdjson(rows.iterator(), out);
+    }
+
+    private <D> long writeNdjson(Iterator<D> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private <D> long writeCsv(Iterator<D> rows, List<String> columns, Function<D, List<Object>> values,
+                              OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+        while (rows.hasNext()) {
+            List<Object> row = values.apply(rows.next());
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(row.get(i)));
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private String csvField(Object value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+    // </editor-fold>
+}
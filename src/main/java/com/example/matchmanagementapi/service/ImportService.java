@@ -0,0 +1,254 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.ImportReport;
+import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchMapper;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.example.matchmanagementapi.exception.ImportFailedException;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import com.example.matchmanagementapi.repository.PostgresCopyWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Imports matches and odds from CSV or NDJSON files on the server. Files are read
+ * through {@link MappedLineReader} and written in chunks of {@code app.import.chunk-size},
+ * using PostgreSQL COPY when available and the regular batch save path otherwise.
+ * Both paths apply the batch duplicate rules of {@link MatchService} and {@link MatchOddsService}.
+ * Every chunk commits on its own: an invalid line, or a chunk the database rejects (an unknown match,
+ * a missing required value, a duplicate key), stops the import with {@link ImportFailedException},
+ * and the chunks written before it are kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportService {
+    // Without a schema the CSV parser exposes a record as an array of its raw values;
+    // quoted fields may contain commas and doubled quotes
+    private static final ObjectReader CSV_RECORD = new CsvMapper().readerForArrayOf(String.class);
+
+    private final MatchService matchService;
+    private final MatchOddsService matchOddsService;
+    private final PostgresCopyWriter postgresCopyWriter;
+    private final SearchResultCache searchResultCache;
+    private final RecordCounter recordCounter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.dir:import}")
+    private String importDir;
+
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Resolves a file name against {@code app.import.dir}, rejecting paths that escape it.
+     */
+    public Path resolve(String fileName) {
+        Path base = Paths.get(importDir).toAbsolutePath().normalize();
+        Path file = base.resolve(fileName).normalize();
+        if (!file.startsWith(base)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Import file must be inside the import directory.");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+
+    public ImportReport importMatches(Path file, ImportFormat format) {
+        return run(file, format, MatchDTO.class, this::writeMatches);
+    }
+
+    public ImportReport importMatchOdds(Path file, ImportFormat format) {
+        return run(file, format, MatchOddsDTO.class, this::writeMatchOdds);
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private long writeMatches(List<MatchDTO> dtos) {
+        List<Match> matches = MatchMapper.toEntity(dtos);
+        if (postgresCopyWriter.isSupported()) {
+            long copied = postgresCopyWriter.copyMatches(matchService.removeDuplicates(matches));
+            recordCounter.add(SearchResultCache.Table.MATCHES, copied);
+            searchResultCache.bump(SearchResultCache.Table.MATCHES);
+            return copied;
+        }
+        return matchService.saveAll(matches).size();
+    }
+
+    private long writeMatchOdds(List<MatchOddsDTO> dtos) {
+        Map<Long, Match> matches = matchService.findAllById(dtos.stream().map(MatchOddsDTO::getMatchId).toList());
+        List<MatchOdds> odds = new ArrayList<>(dtos.size());
+        for (MatchOddsDTO dto : dtos) {
+            odds.add(MatchOddsMapper.toEntity(dto, matches.get(dto.getMatchId())));
+        }
+        if (postgresCopyWriter.isSupported()) {
+            List<MatchOdds> unique = matchOddsService.removeDuplicates(odds);
+            long copied = postgresCopyWriter.copyMatchOdds(unique);
+            matchOddsService.afterOddsSaved(unique, copied, List.of());
+            return copied;
+        }
+        return matchOddsService.saveAll(odds).size();
+    }
+
+    private <D> ImportReport run(Path file, ImportFormat format, Class<D> type, ToLongFunction<List<D>> writer) {
+        ImportFormat resolvedFormat = format != null ? format : detectFormat(file);
+        ImportRun<D> run = new ImportRun<>(file, resolvedFormat, type, writer);
+
+        try {
+            MappedLineReader.forEachLine(file, run::accept);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file " + file, e);
+        }
+        run.flush();
+        return run.report();
+    }
+
+    private <D> D parse(String line, ImportFormat format, String[] header, Class<D> type) {
+        if (format == ImportFormat.NDJSON) {
+            try {
+                return objectMapper.readValue(line, type);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid NDJSON line: " + line, e);
+            }
+        }
+
+        String[] values = parseCsvRecord(line);
+        if (values.length != header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " CSV columns but got " + values.length + ": " + line);
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            row.put(header[i].trim(), values[i].trim());
+        }
+        return objectMapper.convertValue(row, type);
+    }
+
+    private static String[] parseCsvRecord(String line) {
+        try {
+            return CSV_RECORD.readValue(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid CSV line: " + line, e);
+        }
+    }
+
+    private ImportFormat detectFormat(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportFormat.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot detect import format of " + file.getFileName() + "; pass format=CSV or format=NDJSON.");
+    }
+
+    /**
+     * State of one import: the pending chunk, the CSV header and running totals.
+     */
+    private class ImportRun<D> {
+        private final Path file;
+        private final ImportFormat format;
+        private final Class<D> type;
+        private final ToLongFunction<List<D>> writer;
+        private final List<D> chunk = new ArrayList<>(chunkSize);
+        private final long start = System.nanoTime();
+        private String[] csvHeader;
+        private long chunkFirstLine;
+        private long chunkLastLine;
+        private long rowsRead;
+        private long rowsInserted;
+
+        ImportRun(Path file, ImportFormat format, Class<D> type, ToLongFunction<List<D>> writer) {
+            this.file = file;
+            this.format = format;
+            this.type = type;
+            this.writer = writer;
+        }
+
+        void accept(String line, long lineNumber) {
+            try {
+                if (format == ImportFormat.CSV && csvHeader == null) {
+                    csvHeader = parseCsvRecord(line);
+                    return;
+                }
+                D row = parse(line, format, csvHeader, type);
+                if (chunk.isEmpty()) {
+                    chunkFirstLine = lineNumber;
+                }
+                chunkLastLine = lineNumber;
+                chunk.add(row);
+            } catch (IllegalArgumentException e) {
+                // The pending chunk is dropped; the report counts only what was written
+                rowsRead -= chunk.size();
+                chunk.clear();
+                throw new ImportFailedException("Line " + lineNumber + " of " + file.getFileName() + " is invalid: "
+                        + e.getMessage(), lineNumber, report(), e);
+            }
+            rowsRead++;
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                rowsInserted += writer.applyAsLong(chunk);
+            } catch (ResourceNotFoundException | DataIntegrityViolationException e) {
+                // The chunk was rolled back; the report counts only what was written
+                rowsRead -= chunk.size();
+                chunk.clear();
+                String reason = e instanceof ResourceNotFoundException ? e.getMessage()
+                        : "a row conflicts with an existing record or lacks a required value";
+                throw new ImportFailedException("Lines " + chunkFirstLine + "-" + chunkLastLine + " of " + file.getFileName()
+                        + " could not be written: " + reason, chunkFirstLine, chunkLastLine, report(), e);
+            }
+            chunk.clear();
+
+            double seconds = Math.max(1, System.nanoTime() - start) / 1_000_000_000.0;
+            log.info("Import {}: {} rows read, {} inserted ({} rows/sec)",
+                    file.getFileName(), rowsRead, rowsInserted, Math.round(rowsRead / seconds));
+        }
+
+        ImportReport report() {
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            return new ImportReport(
+                    file.getFileName().toString(),
+                    format,
+                    postgresCopyWriter.isSupported() ? "copy" : "batch",
+                    rowsRead,
+                    rowsInserted,
+                    rowsRead - rowsInserted,
+                    elapsedMillis,
+                    rowsRead * 1000.0 / elapsedMillis
+            );
+        }
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,57 @@
+package com.example.matchmanagementapi.service;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Encodes the sort key values of the last row of a page into an opaque, URL-safe token.
+ * The sort name is embedded so a cursor cannot be replayed against a different ordering.
+ */
+final class KeysetCursor {
+    private static final String SEPARATOR = "\u001F";
+
+    private KeysetCursor() {
+    }
+
+    static String encode(String sort, List<String> values) {
+        String raw = sort + SEPARATOR + String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor and turns its values into a "rows after this one" predicate;
+     * malformed or mismatched cursors are rejected with 400.
+     */
+    static <T> Specification<T> after(
+            String cursor,
+            String sort,
+            int expectedValues,
+            Function<List<String>, Specification<T>> predicate
+    ) {
+        return decode(cursor, sort, expectedValues, predicate);
+    }
+
+    /**
+     * Decodes a cursor into the sort key values of the row it points at; malformed or
+     * mismatched cursors (including values the parser rejects) are rejected with 400.
+     */
+    static <R> R decode(String cursor, String sort, int expectedValues, Function<List<String>, R> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = Arrays.asList(raw.split(SEPARATOR, -1));
+            if (parts.size() != expectedValues + 1 || !parts.getFirst().equals(sort)) {
+                throw new IllegalArgumentException("cursor does not match sort " + sort);
+            }
+            return parser.apply(parts.subList(1, parts.size()));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.", e);
+        }
+    }
+}
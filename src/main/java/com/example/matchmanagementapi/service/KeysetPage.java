@@ -0,0 +1,43 @@
+package com.example.matchmanagementapi.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated search.
+ *
+ * @param items      The rows of this page, in sort order.
+ * @param nextCursor Opaque continuation token for the next page, or null on the last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public KeysetPage {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Builds a page from a query that fetched up to {@code pageSize + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(items, cursorOf.apply(items.getLast()));
+    }
+
+    static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) {
+            return Math.min(defaultSize, maxSize);
+        }
+        if (requested < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive.");
+        }
+        return Math.min(requested, maxSize);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.matchmanagementapi.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reads a text file line by line through memory-mapped windows, so large import
+ * files are paged in by the OS instead of being copied through heap buffers.
+ * Lines are UTF-8 and passed with their 1-based line number; trailing {@code \r} and blank lines are dropped.
+ */
+final class MappedLineReader {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private MappedLineReader() {
+    }
+
+    static void forEachLine(Path file, ObjLongConsumer<String> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long windowStart = 0;
+            byte[] line = new byte[256];
+            long lineNumber = 0;
+
+            while (windowStart < size) {
+                long windowLength = Math.min(WINDOW_SIZE, size - windowStart);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+                boolean lastWindow = windowStart + windowLength == size;
+
+                int lineStart = 0;
+                for (int i = 0; i < windowLength; i++) {
+                    if (window.get(i) == '\n') {
+                        line = emit(window, lineStart, i, line, ++lineNumber, consumer);
+                        lineStart = i + 1;
+                    }
+                }
+
+                if (lastWindow) {
+                    line = emit(window, lineStart, (int) windowLength, line, ++lineNumber, consumer);
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + windowStart);
+                }
+                windowStart += lineStart;
+            }
+        }
+    }
+
+    private static byte[] emit(MappedByteBuffer window, int from, int to, byte[] line, long lineNumber,
+                               ObjLongConsumer<String> consumer) {
+        if (to > from && window.get(to - 1) == '\r') {
+            to--;
+        }
+        int length = to - from;
+        if (length == 0) {
+            return line;
+        }
+        if (line.length < length) {
+            line = new byte[Math.max(length, line.length * 2)];
+        }
+        window.get(from, line, 0, length);
+        String value = new String(line, 0, length, StandardCharsets.UTF_8);
+        if (!value.isBlank()) {
+            consumer.accept(value, lineNumber);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of matches by ID, bounded by {@code app.cache.match.maximum-size}
+ * and expired {@code app.cache.match.ttl} after load. Callers always receive their own
+ * detached copy, so mutating a returned match never changes the cached one.
+ * Hit, miss and eviction counts are published as the {@code cache.*} metrics with
+ * {@code cache=matches}. Disabled with {@code app.cache.match.enabled=false}.
+ */
+@Component
+public class MatchCache {
+    private final boolean enabled;
+    private final Cache<Long, Match> cache;
+
+    public MatchCache(
+            @Value("${app.cache.match.enabled:true}") boolean enabled,
+            @Value("${app.cache.match.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.match.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "matches");
+    }
+
+    public Optional<Match> get(Long id, Function<Long, Optional<Match>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null))).map(MatchCache::copy);
+    }
+
+    /**
+     * Returns the cached matches among {@code ids} and loads the rest in one call;
+     * IDs the loader does not return are simply absent from the result.
+     */
+    public Map<Long, Match> getAll(Collection<Long> ids, Function<Collection<Long>, Map<Long, Match>> loader) {
+        if (!enabled) {
+            return loader.apply(ids);
+        }
+        Map<Long, Match> found = new HashMap<>();
+        cache.getAll(ids, missing -> loader.apply(Set.copyOf(missing)))
+                .forEach((id, match) -> found.put(id, copy(match)));
+        return found;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    private static Match copy(Match match) {
+        Match copy = new Match(
+                match.getDescription(),
+                match.getMatchDate(),
+                match.getMatchTime(),
+                match.getTeamA(),
+                match.getTeamB(),
+                match.getSport()
+        );
+        copy.setId(match.getId());
+        copy.setNaturalKey(match.getNaturalKey());
+        copy.setVersion(match.getVersion());
+        return copy;
+    }
+}
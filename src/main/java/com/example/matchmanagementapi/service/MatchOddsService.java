@@ -2,24 +2,71 @@ package com.example.matchmanagementapi.service;
 
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.domain.MatchOddsKey;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.OddsCompareAndSet;
+import com.example.matchmanagementapi.dto.OddsRepriceItem;
+import com.example.matchmanagementapi.dto.OddsRepriceResult;
 import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import com.example.matchmanagementapi.repository.InsertOrSkipWriter;
 import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.OddsRepriceWriter;
+import com.example.matchmanagementapi.repository.SingleRowWriter;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MatchOddsService {
     private final MatchOddsRepository matchOddsRepository;
     private final MatchService matchService;
+    private final StatelessBulkWriter statelessBulkWriter;
+    private final InsertOrSkipWriter insertOrSkipWriter;
+    private final OddsRepriceWriter oddsRepriceWriter;
+    private final SingleRowWriter singleRowWriter;
+    private final SearchResultCache searchResultCache;
+    private final OddsBook oddsBook;
+    private final OddsRangeIndex oddsRangeIndex;
+    private final OddsHistoryService oddsHistoryService;
+    private final RecordCounter recordCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OddsUpdateQueue oddsUpdateQueue;
+
+    @Value("${app.bulk-insert.stateless:true}")
+    private boolean statelessBulkInsert;
+
+    @Value("${app.pagination.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:1000}")
+    private int maxPageSize;
 
     // <editor-fold desc="FIND Methods">
     public List<MatchOdds> findAll() {
@@ -31,6 +78,11 @@ public class MatchOddsService {
                 .orElseThrow(() -> new ResourceNotFoundException("Match odds not found with id: " + id));
     }
 
+    public MatchOddsView findView(Long id) {
+        return matchOddsRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Match odds not found with id: " + id));
+    }
+
     public List<MatchOdds> searchMatchOdds(
             String specifier,
             Double odd,
@@ -38,99 +90,511 @@ public class MatchOddsService {
             Double oddUnder,
             Long matchId
     ) {
-        Specification<MatchOdds> spec = (root, query, cb) -> cb.conjunction();
-
-        if (specifier != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("specifier"), specifier));
-        }
+        return matchOddsRepository.findAll(toSpecification(new MatchOddsFilter(specifier, odd, oddOver, oddUnder, matchId)));
+    }
 
-        if (odd != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("odd"), odd));
-        }
+    /**
+     * Keyset-paginated search: fetches at most {@code limit} rows after the position encoded
+     * in {@code cursor}, so every page costs the same as the first one. Rows are selected
+     * straight into {@link MatchOddsView}s without loading entities, and repeated queries are
+     * served from the {@link SearchResultCache} until the next write to the match_odds table.
+     * Searches on {@code odd}/{@code oddOver}/{@code oddUnder} without a match ID are answered
+     * by the in-memory {@link OddsRangeIndex} when it is enabled.
+     */
+    public KeysetPage<MatchOddsView> searchMatchOdds(MatchOddsFilter filter, MatchOddsSort sort, String cursor, Integer limit) {
+        MatchOddsSort resolvedSort = sort != null ? sort : MatchOddsSort.ID;
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
 
-        if (oddOver != null) {
-            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("odd"), oddOver));
-        }
+        return searchResultCache.get(SearchResultCache.Table.MATCH_ODDS,
+                Arrays.asList(filter, resolvedSort, cursor, pageSize),
+                () -> findPage(filter, resolvedSort, cursor, pageSize));
+    }
 
-        if (oddUnder != null) {
-            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("odd"), oddUnder));
-        }
+    public List<MatchOdds> getOddsForMatch(Long matchId) {
+        return matchOddsRepository.findByMatchId(matchId);
+    }
 
-        if (matchId != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("match").get("id"), matchId));
+    /**
+     * Served from the in-memory {@link OddsBook} when it is enabled.
+     */
+    public List<MatchOddsView> getOddsViewsForMatch(Long matchId) {
+        if (oddsBook.isEnabled()) {
+            return oddsBook.get(matchId);
         }
+        return matchOddsRepository.findViewsByMatchId(matchId);
+    }
 
-        return matchOddsRepository.findAll(spec);
+    /**
+     * Returns the in-memory version of the odds of a match (see {@link OddsBook#version}),
+     * or empty when the odds book is disabled and no version is known without a query.
+     */
+    public OptionalLong getOddsVersion(Long matchId) {
+        return oddsBook.isEnabled() ? OptionalLong.of(oddsBook.version(matchId)) : OptionalLong.empty();
     }
 
-    public List<MatchOdds> getOddsForMatch(Long matchId) {
-        return matchOddsRepository.findByMatchId(matchId);
+    /**
+     * Streams every odds row matching {@code filter} through a database cursor.
+     * The caller must consume and close the stream inside a transaction.
+     */
+    public Stream<MatchOdds> streamMatchOdds(MatchOddsFilter filter) {
+        return matchOddsRepository.streamAll(toSpecification(filter));
     }
 
     public long getRecordsCount(){
-        return matchOddsRepository.count();
+        return getRecordCount().value();
+    }
+
+    public RecordCount getRecordCount(){
+        return recordCounter.get(SearchResultCache.Table.MATCH_ODDS);
+    }
+
+    /**
+     * Counts the odds matching {@code filter} with one {@code SELECT COUNT(*)} over the search
+     * specification, without selecting any rows; repeated counts are served from the
+     * {@link SearchResultCache}. An empty filter is answered by the {@link RecordCounter}.
+     */
+    public RecordCount countMatchOdds(MatchOddsFilter filter){
+        if (filter.isEmpty()) {
+            return getRecordCount();
+        }
+        return searchResultCache.get(SearchResultCache.Table.MATCH_ODDS, Arrays.asList("count", filter),
+                () -> new RecordCount(matchOddsRepository.count(toSpecification(filter)), true));
     }
     // </editor-fold>
 
     // <editor-fold desc="SAVE Methods">
     public List<MatchOdds> saveAll(List<MatchOdds> matchOddsList){
-        return matchOddsList.stream()
-                .filter(o -> !matchOddsRepository.existsBySpecifierAndOddAndMatch_Id(
-                        o.getSpecifier(),
-                        o.getOdd(),
-                        o.getMatch().getId()
-                ))
-                .map(o -> {
-                    matchService.find(o.getMatch().getId());
-                    return o;
-                })
-                .collect(Collectors.collectingAndThen(Collectors.toList(), matchOddsRepository::saveAll));
+        List<MatchOdds> uniqueOdds = removeDuplicates(matchOddsList);
+
+        List<MatchOdds> saved = statelessBulkInsert
+                ? statelessBulkWriter.insertAll(uniqueOdds)
+                : matchOddsRepository.saveAll(uniqueOdds);
+        afterOddsSaved(saved, saved.size(), List.of());
+        return saved;
+    }
+
+    /**
+     * Applies the batch rules without saving: resolves every referenced match in one
+     * lookup (failing with all missing IDs), collapses repeats within the batch and
+     * drops odds that already exist.
+     */
+    public List<MatchOdds> removeDuplicates(List<MatchOdds> matchOddsList){
+        Map<MatchOddsKey, MatchOdds> uniqueOdds = new LinkedHashMap<>();
+        for (MatchOdds matchOdds : matchOddsList) {
+            uniqueOdds.putIfAbsent(matchOdds.naturalKey(), matchOdds);
+        }
+
+        Set<Long> matchIds = uniqueOdds.keySet().stream()
+                .map(MatchOddsKey::matchId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Match> matches = matchService.findAllById(matchIds);
+
+        for (List<Long> chunk : Chunks.of(new ArrayList<>(matches.keySet()), Chunks.DEFAULT_SIZE)) {
+            matchOddsRepository.findKeysByMatchIds(chunk).forEach(uniqueOdds::remove);
+        }
+
+        uniqueOdds.values().forEach(o -> o.setMatch(matches.get(o.getMatch().getId())));
+        return new ArrayList<>(uniqueOdds.values());
     }
 
+    /**
+     * Inserts the odd in a single insert-or-skip statement against the
+     * (match, specifier, odd) unique constraint; a skipped insert is a 409.
+     */
     public MatchOdds save(MatchOdds matchOdds){
         matchService.find(matchOdds.getMatch().getId());
 
-        boolean exists = matchOddsRepository.existsBySpecifierAndOddAndMatch_Id(
-                matchOdds.getSpecifier(),
-                matchOdds.getOdd(),
-                matchOdds.getMatch().getId()
-        );
+        Long id = insertOrSkipWriter.insertMatchOdds(matchOdds)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "MatchOdds already exists."));
+        matchOdds.setId(id);
+        matchOdds.setVersion(0L);
+        afterOddsSaved(List.of(matchOdds), 1, List.of());
+        return matchOdds;
+    }
 
-        if (exists) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "MatchOdds already exists.");
+    /**
+     * Applies odds written by a committed transaction to everything kept beside the table: the odds
+     * book, the range index, the odds history, the record count and the search cache, then notifies
+     * the odds streams of every changed (match, specifier), starting with the ones the odds left
+     * ({@code before}). Every write path calls it once after its commit, including the COPY import.
+     *
+     * @param inserted how many of {@code saved} are new rows
+     */
+    public void afterOddsSaved(Collection<MatchOdds> saved, long inserted, Collection<OddsChangedEvent> before) {
+        if (saved.isEmpty()) {
+            return;
         }
-
-        return matchOddsRepository.save(matchOdds);
+        oddsBook.putAll(saved);
+        oddsRangeIndex.putAll(saved);
+        oddsHistoryService.recordAll(saved);
+        if (inserted != 0) {
+            recordCounter.add(SearchResultCache.Table.MATCH_ODDS, inserted);
+        }
+        searchResultCache.bump(SearchResultCache.Table.MATCH_ODDS);
+        before.stream().distinct().forEach(eventPublisher::publishEvent);
+        publishChanges(saved);
     }
     // </editor-fold>
 
     // <editor-fold desc="DELETE Methods">
+    /**
+     * Deletes the odd in one statement that returns the deleted row; no row is a 404.
+     */
     public void deleteById(Long id){
-        MatchOdds matchOdds = find(id);
-        if(matchOdds!=null)
-            matchOddsRepository.deleteById(id);
+        MatchOddsView deleted = singleRowWriter.deleteMatchOdds(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Match odds not found with id: " + id));
+        oddsBook.removeOdds(List.of(id));
+        oddsRangeIndex.removeOdds(List.of(id));
+        recordCounter.add(SearchResultCache.Table.MATCH_ODDS, -1);
+        searchResultCache.bump(SearchResultCache.Table.MATCH_ODDS);
+        publishChanges(List.of(toMatchOdds(deleted)));
+    }
+
+    /**
+     * Deletes the odds with one {@code DELETE ... WHERE id IN (...)} per chunk of IDs, without loading
+     * entities; only the (match, specifier) pairs to notify are selected first. IDs that do not exist are ignored.
+     *
+     * @return the number of odds deleted
+     */
+    public int deleteByIds(List<Long> ids){
+        int deleted = 0;
+        List<MatchOdds> removed = new ArrayList<>();
+        for (List<Long> chunk : Chunks.of(ids, Chunks.DEFAULT_SIZE)) {
+            matchOddsRepository.findViewsByIdIn(chunk).forEach(row -> removed.add(toMatchOdds(row)));
+            deleted += matchOddsRepository.deleteAllByIdIn(chunk);
+            oddsBook.removeOdds(chunk);
+            oddsRangeIndex.removeOdds(chunk);
+        }
+        recordCounter.add(SearchResultCache.Table.MATCH_ODDS, -deleted);
+        searchResultCache.bump(SearchResultCache.Table.MATCH_ODDS);
+        publishChanges(removed);
+        return deleted;
     }
 
-    public void deleteByIds(List<Long> ids){
-        matchOddsRepository.deleteAllById(ids);
+    /**
+     * Deletes every odd matching {@code filter}: selects only their IDs, then deletes them like
+     * {@link #deleteByIds}. An empty filter is rejected with 400 rather than deleting every odd.
+     *
+     * @return the number of odds deleted
+     */
+    public int deleteMatchOdds(MatchOddsFilter filter){
+        if (filter.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one filter is required to delete match odds.");
+        }
+        return deleteByIds(matchOddsRepository.findIds(toSpecification(filter)));
     }
     // </editor-fold>
 
     // <editor-fold desc="UPDATE Methods">
+    /**
+     * Overwrites the odd in one conditional UPDATE that returns the previous row, instead of loading
+     * and saving the entity; no row is a 404. The target match is resolved through the match cache.
+     */
     public MatchOdds update(Long id, MatchOdds updated){
-        MatchOdds odds = find(id);
-
-        odds.setSpecifier(updated.getSpecifier());
-        odds.setOdd(updated.getOdd());
         Match match = matchService.find(updated.getMatch().getId());
-        odds.setMatch(match);
+        MatchOdds saved = new MatchOdds(id, match, updated.getSpecifier(), updated.getOdd(), null);
 
-        return matchOddsRepository.save(odds);
+        MatchOddsView previous = singleRowWriter.updateMatchOdds(saved)
+                .orElseThrow(() -> new ResourceNotFoundException("Match odds not found with id: " + id));
+        saved.setVersion(previous.version() + 1);
+        afterOddsSaved(List.of(saved), 0, List.of(new OddsChangedEvent(previous.matchId(), previous.specifier())));
+        return saved;
     }
 
     public MatchOdds partialUpdate(Long id, Map<String, Object> updates) {
         MatchOdds matchOdds = find(id);
+        OddsChangedEvent before = OddsChangedEvent.of(matchOdds);
+
+        checkAllowedFields(updates);
+
+        updates.forEach((key, value) -> {
+            switch (key) {
+                case "specifier" -> matchOdds.setSpecifier((String) value);
+                case "odd" -> matchOdds.setOdd(parseOdd(value));
+                case "match" -> matchOdds.setMatch(matchService.find(parseMatchId(value)));
+            }
+        });
+
+        MatchOdds saved = matchOddsRepository.save(matchOdds);
+        afterOddsSaved(List.of(saved), 0, List.of(before));
+        return saved;
+    }
+
+    /**
+     * Compare-and-set of the odd: one conditional UPDATE that only applies while the row still has
+     * the expected version and/or odd, so concurrent writers fail fast with 409 instead of
+     * silently overwriting each other or waiting on a lock. The 409 reports the current version and odd.
+     *
+     * @return the updated row with its new version
+     */
+    public MatchOddsView compareAndSetOdd(Long id, OddsCompareAndSet request) {
+        if (request.odd() == null || (request.expectedVersion() == null && request.expectedOdd() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "odd and at least one of expectedVersion and expectedOdd are required.");
+        }
+
+        MatchOddsView updated = singleRowWriter.compareAndSetOdd(id, request.odd(), request.expectedVersion(), request.expectedOdd())
+                .orElseThrow(() -> {
+                    MatchOddsView current = findView(id);
+                    return new ResponseStatusException(HttpStatus.CONFLICT, "Match odds " + id + " was changed concurrently: "
+                            + "version " + current.version() + ", odd " + current.odd() + ".");
+                });
+        afterOddsSaved(List.of(toMatchOdds(updated)), 0, List.of());
+        return updated;
+    }
+
+    /**
+     * Reprices many odds in one transaction: the odds of every affected match are locked and
+     * read once, each entry is resolved by id or by (match, specifier), and the changed rows are
+     * written with one set-based statement per chunk. Entries that cannot be applied are reported
+     * instead of failing the batch; when several entries target the same row the last one wins.
+     *
+     * @return one result per entry, in request order
+     */
+    public List<OddsRepriceResult> reprice(List<OddsRepriceItem> items) {
+        OddsRepriceResult[] results = new OddsRepriceResult[items.size()];
+        Set<Long> oddsIds = new LinkedHashSet<>();
+        Set<Long> matchIds = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            OddsRepriceItem item = items.get(i);
+            if (item.odd() == null || (item.id() == null && (item.matchId() == null || item.specifier() == null))) {
+                results[i] = new OddsRepriceResult(i, item.id(), OddsRepriceResult.Status.INVALID,
+                        "Each item needs an odd and either an id or a matchId and specifier.");
+            } else if (item.id() != null) {
+                oddsIds.add(item.id());
+            } else {
+                matchIds.add(item.matchId());
+            }
+        }
+
+        List<MatchOddsView> changed = oddsIds.isEmpty() && matchIds.isEmpty()
+                ? List.of()
+                : oddsRepriceWriter.reprice(oddsIds, matchIds, current -> planReprice(items, results, current));
+
+        afterOddsSaved(changed.stream().map(MatchOddsService::toMatchOdds).toList(), 0, List.of());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Whether PUT/PATCH /api/matchOdds/{id} are queued ({@code app.odds-write-behind.enabled}).
+     */
+    public boolean isWriteBehindEnabled() {
+        return oddsUpdateQueue.isEnabled();
+    }
+
+    /**
+     * Write-behind variant of {@link #update}: checks that the odd and the target match exist, then
+     * queues the new values without writing the row; the next {@link #flushQueuedUpdates()} applies them.
+     */
+    public void enqueueUpdate(Long id, MatchOdds updated) {
+        checkExists(id);
+        matchService.find(updated.getMatch().getId());
+        oddsUpdateQueue.enqueue(new QueuedOddsUpdate(id, updated.getMatch().getId(), updated.getSpecifier(), updated.getOdd()));
+    }
+
+    /**
+     * Write-behind variant of {@link #partialUpdate}: validates the odd, the fields and the target match, then queues them.
+     */
+    public void enqueuePartialUpdate(Long id, Map<String, Object> updates) {
+        checkAllowedFields(updates);
+        checkExists(id);
+
+        Long matchId = null;
+        String specifier = null;
+        Double odd = null;
+        for (Map.Entry<String, Object> update : updates.entrySet()) {
+            switch (update.getKey()) {
+                case "specifier" -> specifier = (String) update.getValue();
+                case "odd" -> odd = parseOdd(update.getValue());
+                case "match" -> matchId = matchService.find(parseMatchId(update.getValue())).getId();
+            }
+        }
+        oddsUpdateQueue.enqueue(new QueuedOddsUpdate(id, matchId, specifier, odd));
+    }
+
+    @Scheduled(fixedDelayString = "${app.odds-write-behind.flush-interval:20ms}")
+    public void flushQueuedUpdates() {
+        oddsUpdateQueue.flush(this::writeQueuedUpdates);
+    }
 
+    @PreDestroy
+    void flushQueuedUpdatesOnShutdown() {
+        flushQueuedUpdates();
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    /**
+     * Applies one batch of coalesced updates: loads the rows in one query per chunk, writes them
+     * sorted by (match, id) as one batched transaction, then updates the in-memory structures and
+     * subscribers the way {@link #update} does. Rows deleted in the meantime, moves to deleted
+     * matches and rows that would break the (match, specifier, odd) constraint are dropped.
+     * A row whose version changed since it was read fails the batch, which the queue retries with fresh reads.
+     *
+     * @return the number of updates applied
+     */
+    private int writeQueuedUpdates(List<QueuedOddsUpdate> batch) {
+        Map<Long, QueuedOddsUpdate> updatesById = new HashMap<>();
+        batch.forEach(update -> updatesById.put(update.id(), update));
+
+        List<MatchOdds> rows = new ArrayList<>(batch.size());
+        for (List<Long> chunk : Chunks.of(new ArrayList<>(updatesById.keySet()), Chunks.DEFAULT_SIZE)) {
+            rows.addAll(matchOddsRepository.findAllById(chunk));
+        }
+
+        Map<Long, Match> targetMatches = new HashMap<>();
+        for (QueuedOddsUpdate update : batch) {
+            if (update.matchId() != null && !targetMatches.containsKey(update.matchId())) {
+                try {
+                    targetMatches.put(update.matchId(), matchService.find(update.matchId()));
+                } catch (ResourceNotFoundException e) {
+                    targetMatches.put(update.matchId(), null);
+                }
+            }
+        }
+
+        List<OddsChangedEvent> before = new ArrayList<>(rows.size());
+        List<MatchOdds> changed = new ArrayList<>(rows.size());
+        for (MatchOdds row : rows) {
+            QueuedOddsUpdate update = updatesById.get(row.getId());
+            Match match = update.matchId() != null ? targetMatches.get(update.matchId()) : row.getMatch();
+            if (match == null) {
+                continue;
+            }
+            before.add(OddsChangedEvent.of(row));
+            row.setMatch(match);
+            if (update.specifier() != null) {
+                row.setSpecifier(update.specifier());
+            }
+            if (update.odd() != null) {
+                row.setOdd(update.odd());
+            }
+            changed.add(row);
+        }
+        changed.sort(Comparator.comparing((MatchOdds o) -> o.getMatch().getId()).thenComparing(MatchOdds::getId));
+
+        Map<Long, Long> versionsById = new HashMap<>();
+        changed.forEach(row -> versionsById.put(row.getId(), row.getVersion()));
+
+        List<MatchOdds> saved;
+        try {
+            saved = statelessBulkWriter.updateAll(changed);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Find the conflicting rows by writing one at a time. The failed batch has already bumped
+            // the versions of the detached rows, and some drivers report a failed batch as a row count mismatch.
+            changed.forEach(row -> row.setVersion(versionsById.get(row.getId())));
+            saved = new ArrayList<>(changed.size());
+            for (MatchOdds row : changed) {
+                try {
+                    saved.addAll(statelessBulkWriter.updateAll(List.of(row)));
+                } catch (DataIntegrityViolationException conflict) {
+                    log.warn("Dropping queued update of match odds {}: it conflicts with an existing record", row.getId());
+                }
+            }
+        }
+
+        if (!saved.isEmpty()) {
+            afterOddsSaved(saved, 0, before);
+        }
+        return saved.size();
+    }
+
+    /**
+     * Resolves the entries of {@link #reprice} against the locked rows and fills in their results.
+     * A new odd that another row of the same (match, specifier) holds, or is moving to, is a
+     * conflict for every entry involved, so the set-based write can never trip the
+     * (match, specifier, odd) constraint.
+     *
+     * @return the rows whose odd changes, with the version they are written with, sorted by (match, id)
+     */
+    private static List<MatchOddsView> planReprice(List<OddsRepriceItem> items, OddsRepriceResult[] results,
+                                                   List<MatchOddsView> current) {
+        Map<Long, MatchOddsView> rowsById = new HashMap<>();
+        Map<Long, Map<String, List<MatchOddsView>>> rowsBySpecifier = new HashMap<>();
+        for (MatchOddsView row : current) {
+            rowsById.put(row.id(), row);
+            rowsBySpecifier.computeIfAbsent(row.matchId(), k -> new HashMap<>())
+                    .computeIfAbsent(row.specifier(), k -> new ArrayList<>())
+                    .add(row);
+        }
+
+        // Last entry per row wins
+        Map<Long, Integer> itemByRow = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            OddsRepriceItem item = items.get(i);
+            MatchOddsView row;
+            if (item.id() != null) {
+                row = rowsById.get(item.id());
+            } else {
+                List<MatchOddsView> candidates = rowsBySpecifier.getOrDefault(item.matchId(), Map.of())
+                        .getOrDefault(item.specifier(), List.of());
+                if (candidates.size() > 1) {
+                    results[i] = new OddsRepriceResult(i, null, OddsRepriceResult.Status.AMBIGUOUS,
+                            "Match " + item.matchId() + " has " + candidates.size() + " odds with specifier '" + item.specifier() + "'; use their ids.");
+                    continue;
+                }
+                row = candidates.isEmpty() ? null : candidates.get(0);
+            }
+            if (row == null) {
+                results[i] = new OddsRepriceResult(i, item.id(), OddsRepriceResult.Status.NOT_FOUND, "Match odds not found.");
+                continue;
+            }
+            Integer previous = itemByRow.put(row.id(), i);
+            if (previous != null) {
+                results[previous] = new OddsRepriceResult(previous, row.id(), OddsRepriceResult.Status.SUPERSEDED,
+                        "Overridden by item " + i + ".");
+            }
+        }
+
+        Map<Long, Double> newOdds = new HashMap<>();
+        itemByRow.forEach((rowId, i) -> {
+            if (items.get(i).odd() == rowsById.get(rowId).odd()) {
+                results[i] = new OddsRepriceResult(i, rowId, OddsRepriceResult.Status.UNCHANGED, null);
+            } else {
+                newOdds.put(rowId, items.get(i).odd());
+            }
+        });
+
+        List<MatchOddsView> changed = new ArrayList<>();
+        itemByRow.forEach((rowId, i) -> {
+            Double odd = newOdds.get(rowId);
+            if (odd == null) {
+                return;
+            }
+            MatchOddsView row = rowsById.get(rowId);
+            boolean conflict = rowsBySpecifier.get(row.matchId()).get(row.specifier()).stream()
+                    .filter(other -> !other.id().equals(rowId))
+                    .anyMatch(other -> other.odd() == odd || odd.equals(newOdds.get(other.id())));
+            if (conflict) {
+                results[i] = new OddsRepriceResult(i, rowId, OddsRepriceResult.Status.CONFLICT,
+                        "Another odd of match " + row.matchId() + " with specifier '" + row.specifier() + "' has or gets odd " + odd + ".");
+            } else {
+                results[i] = new OddsRepriceResult(i, rowId, OddsRepriceResult.Status.UPDATED, null);
+                changed.add(new MatchOddsView(rowId, row.matchId(), row.specifier(), odd, row.version() + 1));
+            }
+        });
+        changed.sort(Comparator.comparing(MatchOddsView::matchId).thenComparing(MatchOddsView::id));
+        return changed;
+    }
+
+    /**
+     * Answered by the odds book when it has the odd, so queued updates to known odds need no query.
+     */
+    private void checkExists(Long id) {
+        if (!(oddsBook.isEnabled() && oddsBook.contains(id)) && !matchOddsRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Match odds not found with id: " + id);
+        }
+    }
+
+    private static MatchOdds toMatchOdds(MatchOddsView view) {
+        Match match = new Match();
+        match.setId(view.matchId());
+        return new MatchOdds(view.id(), match, view.specifier(), view.odd(), view.version());
+    }
+
+    private static void checkAllowedFields(Map<String, Object> updates) {
         Set<String> allowedFields = Set.of(
                 "specifier",
                 "odd",
@@ -142,35 +606,104 @@ public class MatchOddsService {
                 throw new IllegalArgumentException("Field '" + key + "' is not allowed to be updated.");
             }
         }
+    }
 
-        updates.forEach((key, value) -> {
-            switch (key) {
-                case "specifier" -> matchOdds.setSpecifier((String) value);
-                case "odd" -> {
-                    if (value instanceof Number number) {
-                        matchOdds.setOdd(number.doubleValue());
-                    } else {
-                        matchOdds.setOdd(Double.parseDouble(value.toString()));
-                    }
-                }
-                case "match" -> {
-                    if (value instanceof Map<?, ?> matchMap) {
-                        Object matchIdObj = matchMap.get("id");
-                        if (matchIdObj instanceof Number matchIdNumber) {
-                            Long matchId = matchIdNumber.longValue();
-                            Match match = matchService.find(matchId);
-                            matchOdds.setMatch(match);
-                        } else {
-                            throw new IllegalArgumentException("Invalid or missing match.id");
-                        }
-                    } else {
-                        throw new IllegalArgumentException("Invalid format for match");
-                    }
-                }
+    private static double parseOdd(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    private static Long parseMatchId(Object value) {
+        if (value instanceof Map<?, ?> matchMap) {
+            Object matchIdObj = matchMap.get("id");
+            if (matchIdObj instanceof Number matchIdNumber) {
+                return matchIdNumber.longValue();
             }
-        });
+            throw new IllegalArgumentException("Invalid or missing match.id");
+        }
+        throw new IllegalArgumentException("Invalid format for match");
+    }
+
+    private KeysetPage<MatchOddsView> findPage(MatchOddsFilter filter, MatchOddsSort resolvedSort, String cursor, int pageSize) {
+        if (usesRangeIndex(filter)) {
+            return findPageInRangeIndex(filter, resolvedSort, cursor, pageSize);
+        }
+
+        Specification<MatchOdds> spec = toSpecification(filter);
+        if (cursor != null) {
+            spec = spec.and(KeysetCursor.after(cursor, resolvedSort.name(), resolvedSort.cursorSize(), resolvedSort::after));
+        }
+
+        List<MatchOddsView> rows = matchOddsRepository.findViews(spec, resolvedSort.sort(), pageSize + 1);
+        return KeysetPage.of(rows, pageSize,
+                last -> KeysetCursor.encode(resolvedSort.name(), resolvedSort.cursorValues(last)));
+    }
+
+    /**
+     * Notifies {@link OddsStreamService} subscribers; the old pair of an update is published by the caller.
+     */
+    private void publishChanges(Collection<MatchOdds> changed) {
+        changed.stream()
+                .map(OddsChangedEvent::of)
+                .distinct()
+                .forEach(eventPublisher::publishEvent);
+    }
+
+    private boolean usesRangeIndex(MatchOddsFilter filter) {
+        return oddsRangeIndex.isEnabled()
+                && filter.matchId() == null
+                && (filter.odd() != null || filter.oddOver() != null || filter.oddUnder() != null);
+    }
+
+    /**
+     * Turns the exclusive oddOver/oddUnder bounds and the exact odd into one inclusive range.
+     */
+    private KeysetPage<MatchOddsView> findPageInRangeIndex(MatchOddsFilter filter, MatchOddsSort resolvedSort, String cursor, int pageSize) {
+        double from = filter.oddOver() != null ? Math.nextUp(filter.oddOver()) : Double.NEGATIVE_INFINITY;
+        double to = filter.oddUnder() != null ? Math.nextDown(filter.oddUnder()) : Double.POSITIVE_INFINITY;
+        if (filter.odd() != null) {
+            from = Math.max(from, filter.odd());
+            to = Math.min(to, filter.odd());
+        }
+
+        // after() parses the cursor values eagerly, so malformed ones are rejected with 400
+        List<String> after = cursor == null ? null : KeysetCursor.decode(cursor, resolvedSort.name(), resolvedSort.cursorSize(),
+                values -> {
+                    resolvedSort.after(values);
+                    return values;
+                });
+
+        List<MatchOddsView> rows = oddsRangeIndex.find(filter.specifier(), from, to, resolvedSort, after, pageSize + 1);
+        return KeysetPage.of(rows, pageSize,
+                last -> KeysetCursor.encode(resolvedSort.name(), resolvedSort.cursorValues(last)));
+    }
+
+    private Specification<MatchOdds> toSpecification(MatchOddsFilter filter) {
+        Specification<MatchOdds> spec = (root, query, cb) -> cb.conjunction();
+
+        if (filter.specifier() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("specifier"), filter.specifier()));
+        }
+
+        if (filter.odd() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("odd"), filter.odd()));
+        }
+
+        if (filter.oddOver() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("odd"), filter.oddOver()));
+        }
+
+        if (filter.oddUnder() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("odd"), filter.oddUnder()));
+        }
+
+        if (filter.matchId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("match").get("id"), filter.matchId()));
+        }
 
-        return matchOddsRepository.save(matchOdds);
+        return spec;
     }
     // </editor-fold>
 }
@@ -0,0 +1,69 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Stable orderings for keyset pagination of match odds. Each ends with the ID so
+ * that rows with equal sort values still have a strict order.
+ */
+public enum MatchOddsSort {
+    ID(1) {
+        @Override
+        Sort sort() {
+            return Sort.by("id");
+        }
+
+        @Override
+        List<String> cursorValues(MatchOddsView odds) {
+            return List.of(odds.id().toString());
+        }
+
+        @Override
+        Specification<MatchOdds> after(List<String> values) {
+            long id = Long.parseLong(values.getFirst());
+            return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+        }
+    },
+    ODD(2) {
+        @Override
+        Sort sort() {
+            return Sort.by("odd", "id");
+        }
+
+        @Override
+        List<String> cursorValues(MatchOddsView odds) {
+            return List.of(Double.toString(odds.odd()), odds.id().toString());
+        }
+
+        @Override
+        Specification<MatchOdds> after(List<String> values) {
+            double odd = Double.parseDouble(values.get(0));
+            long id = Long.parseLong(values.get(1));
+            return (root, query, cb) -> cb.or(
+                    cb.greaterThan(root.get("odd"), odd),
+                    cb.and(cb.equal(root.get("odd"), odd), cb.greaterThan(root.get("id"), id))
+            );
+        }
+    };
+
+    private final int cursorSize;
+
+    MatchOddsSort(int cursorSize) {
+        this.cursorSize = cursorSize;
+    }
+
+    int cursorSize() {
+        return cursorSize;
+    }
+
+    abstract Sort sort();
+
+    abstract List<String> cursorValues(MatchOddsView odds);
+
+    abstract Specification<MatchOdds> after(List<String> values);
+}
@@ -2,9 +2,15 @@ package com.example.matchmanagementapi.service;
 
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchView;
 import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import com.example.matchmanagementapi.repository.InsertOrSkipWriter;
 import com.example.matchmanagementapi.repository.MatchRepository;
+import com.example.matchmanagementapi.repository.SingleRowWriter;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -12,16 +18,39 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class MatchService {
     private final MatchRepository matchRepository;
+    private final StatelessBulkWriter statelessBulkWriter;
+    private final InsertOrSkipWriter insertOrSkipWriter;
+    private final SingleRowWriter singleRowWriter;
+    private final MatchCache matchCache;
+    private final SearchResultCache searchResultCache;
+    private final OddsBook oddsBook;
+    private final OddsRangeIndex oddsRangeIndex;
+    private final RecordCounter recordCounter;
+
+    @Value("${app.bulk-insert.stateless:true}")
+    private boolean statelessBulkInsert;
+
+    @Value("${app.pagination.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:1000}")
+    private int maxPageSize;
 
     // <editor-fold desc="FIND Methods">
     public List<Match> findAll(){
@@ -29,10 +58,38 @@ public class MatchService {
     }
 
     public Match find(Long id) {
-        return matchRepository.findById(id)
+        return matchCache.get(id, matchRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + id));
+    }
+
+    public MatchView findView(Long id) {
+        return matchRepository.findViewById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + id));
     }
 
+    public Map<Long, Match> findAllById(Collection<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+
+        Map<Long, Match> found = matchCache.getAll(requestedIds, missingIds -> {
+            Map<Long, Match> loaded = new HashMap<>();
+            for (List<Long> chunk : Chunks.of(new ArrayList<>(missingIds), Chunks.DEFAULT_SIZE)) {
+                matchRepository.findAllById(chunk).forEach(match -> loaded.put(match.getId(), match));
+            }
+            return loaded;
+        });
+
+        List<Long> missing = ids.stream()
+                .distinct()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Matches not found with ids: " + missing);
+        }
+
+        return found;
+    }
+
     public List<Match> searchMatches(
             String description,
             String teamA,
@@ -45,122 +102,179 @@ public class MatchService {
             LocalTime matchTimeBefore,
             LocalTime matchTimeAfter
     ) {
-        Specification<Match> spec = (root, query, cb) -> cb.conjunction();
-
-        if (description != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("description"), description));
-        }
-
-        if (teamA != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("teamA"), teamA));
-        }
-
-        if (teamB != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("teamB"), teamB));
-        }
-
-        if (sport != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("sport"), sport));
-        }
-
-        if (matchDate != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("matchDate"), matchDate));
-        }
-
-        if (matchDateBefore != null) {
-            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("matchDate"), matchDateBefore));
-        }
-
-        if (matchDateAfter != null) {
-            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("matchDate"), matchDateAfter));
-        }
+        return matchRepository.findAll(toSpecification(new MatchFilter(
+                description, teamA, teamB, sport,
+                matchDate, matchDateBefore, matchDateAfter,
+                matchTime, matchTimeBefore, matchTimeAfter
+        )));
+    }
 
-        if (matchTime != null) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("matchTime"), matchTime));
-        }
+    /**
+     * Keyset-paginated search: fetches at most {@code limit} rows after the position encoded
+     * in {@code cursor}, so every page costs the same as the first one. Rows are selected
+     * straight into {@link MatchView}s without loading entities, and repeated queries are
+     * served from the {@link SearchResultCache} until the next write to the matches table.
+     */
+    public KeysetPage<MatchView> searchMatches(MatchFilter filter, MatchSort sort, String cursor, Integer limit) {
+        MatchSort resolvedSort = sort != null ? sort : MatchSort.KICKOFF;
+        int pageSize = KeysetPage.pageSize(limit, defaultPageSize, maxPageSize);
+
+        return searchResultCache.get(SearchResultCache.Table.MATCHES,
+                Arrays.asList(filter, resolvedSort, cursor, pageSize),
+                () -> findPage(filter, resolvedSort, cursor, pageSize));
+    }
 
-        if (matchTimeBefore != null) {
-            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("matchTime"), matchTimeBefore));
-        }
+    /**
+     * Streams every match matching {@code filter} through a database cursor.
+     * The caller must consume and close the stream inside a transaction.
+     */
+    public Stream<Match> streamMatches(MatchFilter filter) {
+        return matchRepository.streamAll(toSpecification(filter));
+    }
 
-        if (matchTimeAfter != null) {
-            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("matchTime"), matchTimeAfter));
-        }
+    public long getRecordsCount(){
+        return getRecordCount().value();
+    }
 
-        return matchRepository.findAll(spec);
+    public RecordCount getRecordCount(){
+        return recordCounter.get(SearchResultCache.Table.MATCHES);
     }
 
-    public long getRecordsCount(){
-        return matchRepository.count();
+    /**
+     * Counts the matches matching {@code filter} with one {@code SELECT COUNT(*)} over the search
+     * specification, without selecting any rows; repeated counts are served from the
+     * {@link SearchResultCache}. An empty filter is answered by the {@link RecordCounter}.
+     */
+    public RecordCount countMatches(MatchFilter filter){
+        if (filter.isEmpty()) {
+            return getRecordCount();
+        }
+        return searchResultCache.get(SearchResultCache.Table.MATCHES, Arrays.asList("count", filter),
+                () -> new RecordCount(matchRepository.count(toSpecification(filter)), true));
     }
     // </editor-fold>
 
     // <editor-fold desc="SAVE Methods">
     public List<Match> saveAll(List<Match> matchList){
-        List<Match> uniqueMatches = matchList.stream()
-                .filter(match -> !matchRepository.existsByDescriptionAndMatchDateAndMatchTimeAndTeamAAndTeamBAndSport(
-                        match.getDescription(),
-                        match.getMatchDate(),
-                        match.getMatchTime(),
-                        match.getTeamA(),
-                        match.getTeamB(),
-                        match.getSport()
-                ))
-                .peek(match -> match.setDescription(generateDescription(match.getTeamA(), match.getTeamB())))
-                .collect(Collectors.toList());
-
-        return matchRepository.saveAll(uniqueMatches);
+        List<Match> uniqueMatches = removeDuplicates(matchList);
+
+        List<Match> saved = statelessBulkInsert
+                ? statelessBulkWriter.insertAll(uniqueMatches)
+                : matchRepository.saveAll(uniqueMatches);
+        recordCounter.add(SearchResultCache.Table.MATCHES, saved.size());
+        searchResultCache.bump(SearchResultCache.Table.MATCHES);
+        return saved;
     }
 
-    public Match save(Match match){
-        boolean exists = matchRepository.existsByDescriptionAndMatchDateAndMatchTimeAndTeamAAndTeamBAndSport(
-                match.getDescription(),
-                match.getMatchDate(),
-                match.getMatchTime(),
-                match.getTeamA(),
-                match.getTeamB(),
-                match.getSport()
-        );
+    /**
+     * Applies the batch duplicate rules without saving: regenerates descriptions and
+     * natural keys, collapses repeats within the batch and drops matches that already exist.
+     */
+    public List<Match> removeDuplicates(List<Match> matchList){
+        Map<String, Match> uniqueMatches = new LinkedHashMap<>();
+        for (Match match : matchList) {
+            match.setDescription(generateDescription(match.getTeamA(), match.getTeamB()));
+            match.refreshNaturalKey();
+            uniqueMatches.putIfAbsent(match.getNaturalKey(), match);
+        }
 
-        if (exists) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Match already exists.");
+        for (List<String> chunk : Chunks.of(new ArrayList<>(uniqueMatches.keySet()), Chunks.DEFAULT_SIZE)) {
+            matchRepository.findExistingNaturalKeys(chunk).forEach(uniqueMatches::remove);
         }
 
+        return new ArrayList<>(uniqueMatches.values());
+    }
+
+    /**
+     * Inserts the match in a single insert-or-skip statement against the natural-key
+     * unique constraint; a skipped insert means the match already exists (409).
+     */
+    public Match save(Match match){
         match.setDescription(generateDescription(match.getTeamA(), match.getTeamB()));
-        return matchRepository.save(match);
+        match.refreshNaturalKey();
+
+        Long id = insertOrSkipWriter.insertMatch(match)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Match already exists."));
+        match.setId(id);
+        match.setVersion(0L);
+        recordCounter.add(SearchResultCache.Table.MATCHES, 1);
+        searchResultCache.bump(SearchResultCache.Table.MATCHES);
+        return match;
     }
     // </editor-fold>
 
     // <editor-fold desc="DELETE Methods">
+    /**
+     * Deletes the match in one conditional statement; a zero row count is a 404. The odds book
+     * tells how many odds the cascade removed, so the record count follows it without a query.
+     */
     public void deleteById(Long id){
-        Match match = find(id);
-        if(match!=null)
-            matchRepository.deleteById(id);
+        if (matchRepository.deleteAllByIdIn(List.of(id)) == 0) {
+            throw new ResourceNotFoundException("Match not found with id: " + id);
+        }
+        matchCache.invalidate(id);
+        long odds = oddsBook.removeMatches(List.of(id));
+        oddsRangeIndex.removeMatches(List.of(id));
+        recordCounter.add(SearchResultCache.Table.MATCHES, -1);
+        recordCounter.add(SearchResultCache.Table.MATCH_ODDS, -odds);
+        searchResultCache.bump(SearchResultCache.Table.MATCHES, SearchResultCache.Table.MATCH_ODDS);
     }
 
-    public void deleteByIds(List<Long> ids){
-        matchRepository.deleteAllById(ids);
+    /**
+     * Deletes the matches with one {@code DELETE ... WHERE id IN (...)} per chunk of IDs, without
+     * loading them; their odds are removed by the database-level cascade and counted for the record
+     * count by the odds book, as in {@link #deleteById}. IDs that do not exist are ignored.
+     * With the odds book disabled the odds count is left to the periodic reconcile.
+     *
+     * @return the number of matches deleted
+     */
+    public int deleteByIds(List<Long> ids){
+        int deleted = 0;
+        long odds = 0;
+        for (List<Long> chunk : Chunks.of(ids, Chunks.DEFAULT_SIZE)) {
+            deleted += matchRepository.deleteAllByIdIn(chunk);
+            matchCache.invalidateAll(chunk);
+            odds += oddsBook.removeMatches(chunk);
+            oddsRangeIndex.removeMatches(chunk);
+        }
+        recordCounter.add(SearchResultCache.Table.MATCHES, -deleted);
+        recordCounter.add(SearchResultCache.Table.MATCH_ODDS, -odds);
+        searchResultCache.bump(SearchResultCache.Table.MATCHES, SearchResultCache.Table.MATCH_ODDS);
+        return deleted;
+    }
+
+    /**
+     * Deletes every match matching {@code filter}: selects only their IDs, then deletes them like
+     * {@link #deleteByIds}. An empty filter is rejected with 400 rather than deleting every match.
+     *
+     * @return the number of matches deleted
+     */
+    public int deleteMatches(MatchFilter filter){
+        if (filter.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one filter is required to delete matches.");
+        }
+        return deleteByIds(matchRepository.findIds(toSpecification(filter)));
     }
     // </editor-fold>
 
     // <editor-fold desc="UPDATE Methods">
+    /**
+     * Overwrites the match in one conditional UPDATE without loading it first; a zero row count is a 404.
+     * The UPDATE returns the version it wrote, which the returned match carries.
+     */
     public Match update(Long id, Match updated){
-        Match existing = find(id);
-
         if(!((updated.getTeamA() + "-" + updated.getTeamB()).equals(updated.getDescription()))){
             updated.setDescription(generateDescription(updated.getTeamA(), updated.getTeamB()));
         }
+        updated.refreshNaturalKey();
 
-        existing.setDescription(updated.getDescription());
-        existing.setMatchDate(updated.getMatchDate());
-        existing.setMatchTime(updated.getMatchTime());
-        existing.setTeamA(updated.getTeamA());
-        existing.setTeamB(updated.getTeamB());
-        existing.setSport(updated.getSport());
-
-        System.out.println("Saving match: " + existing);
-
-        return matchRepository.save(existing);
+        Long version = singleRowWriter.updateMatch(id, updated)
+                .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + id));
+        updated.setId(id);
+        updated.setVersion(version);
+        matchCache.invalidate(id);
+        searchResultCache.bump(SearchResultCache.Table.MATCHES);
+        return updated;
     }
 
     public Match partialUpdate(Long id, Map<String, Object> updates) {
@@ -198,11 +312,71 @@ public class MatchService {
 
         synchronizeTeamsAndDescription(match, originalTeamA, originalTeamB, originalDescription);
 
-        return matchRepository.save(match);
+        Match saved = matchRepository.save(match);
+        matchCache.invalidate(id);
+        searchResultCache.bump(SearchResultCache.Table.MATCHES);
+        return saved;
     }
     // </editor-fold>
 
     // <editor-fold desc="Private HELPER Methods">
+    private KeysetPage<MatchView> findPage(MatchFilter filter, MatchSort resolvedSort, String cursor, int pageSize) {
+        Specification<Match> spec = toSpecification(filter);
+        if (cursor != null) {
+            spec = spec.and(KeysetCursor.after(cursor, resolvedSort.name(), resolvedSort.cursorSize(), resolvedSort::after));
+        }
+
+        List<MatchView> rows = matchRepository.findViews(spec, resolvedSort.sort(), pageSize + 1);
+        return KeysetPage.of(rows, pageSize,
+                last -> KeysetCursor.encode(resolvedSort.name(), resolvedSort.cursorValues(last)));
+    }
+
+    private Specification<Match> toSpecification(MatchFilter filter) {
+        Specification<Match> spec = (root, query, cb) -> cb.conjunction();
+
+        if (filter.description() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("description"), filter.description()));
+        }
+
+        if (filter.teamA() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("teamA"), filter.teamA()));
+        }
+
+        if (filter.teamB() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("teamB"), filter.teamB()));
+        }
+
+        if (filter.sport() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("sport"), filter.sport()));
+        }
+
+        if (filter.matchDate() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("matchDate"), filter.matchDate()));
+        }
+
+        if (filter.matchDateBefore() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("matchDate"), filter.matchDateBefore()));
+        }
+
+        if (filter.matchDateAfter() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("matchDate"), filter.matchDateAfter()));
+        }
+
+        if (filter.matchTime() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("matchTime"), filter.matchTime()));
+        }
+
+        if (filter.matchTimeBefore() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("matchTime"), filter.matchTimeBefore()));
+        }
+
+        if (filter.matchTimeAfter() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("matchTime"), filter.matchTimeAfter()));
+        }
+
+        return spec;
+    }
+
     private void synchronizeTeamsAndDescription(Match match, String originalTeamA, String originalTeamB, String originalDescription) {
         boolean teamAChanged = !Objects.equals(originalTeamA, match.getTeamA());
         boolean teamBChanged = !Objects.equals(originalTeamB, match.getTeamB());
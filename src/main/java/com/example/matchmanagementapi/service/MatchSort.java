@@ -0,0 +1,73 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.dto.MatchView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Stable orderings for keyset pagination of matches. Each ends with the ID so
+ * that rows with equal sort values still have a strict order.
+ */
+public enum MatchSort {
+    KICKOFF(3) {
+        @Override
+        Sort sort() {
+            return Sort.by("matchDate", "matchTime", "id");
+        }
+
+        @Override
+        List<String> cursorValues(MatchView match) {
+            return List.of(match.matchDate().toString(), match.matchTime().toString(), match.id().toString());
+        }
+
+        @Override
+        Specification<Match> after(List<String> values) {
+            LocalDate date = LocalDate.parse(values.get(0));
+            LocalTime time = LocalTime.parse(values.get(1));
+            long id = Long.parseLong(values.get(2));
+            return (root, query, cb) -> cb.or(
+                    cb.greaterThan(root.get("matchDate"), date),
+                    cb.and(cb.equal(root.get("matchDate"), date), cb.greaterThan(root.get("matchTime"), time)),
+                    cb.and(cb.equal(root.get("matchDate"), date), cb.equal(root.get("matchTime"), time), cb.greaterThan(root.get("id"), id))
+            );
+        }
+    },
+    ID(1) {
+        @Override
+        Sort sort() {
+            return Sort.by("id");
+        }
+
+        @Override
+        List<String> cursorValues(MatchView match) {
+            return List.of(match.id().toString());
+        }
+
+        @Override
+        Specification<Match> after(List<String> values) {
+            long id = Long.parseLong(values.getFirst());
+            return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+        }
+    };
+
+    private final int cursorSize;
+
+    MatchSort(int cursorSize) {
+        this.cursorSize = cursorSize;
+    }
+
+    int cursorSize() {
+        return cursorSize;
+    }
+
+    abstract Sort sort();
+
+    abstract List<String> cursorValues(MatchView match);
+
+    abstract Specification<Match> after(List<String> values);
+}
@@ -0,0 +1,453 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory copy of every odds row, grouped by match, serving {@code GET /api/matches/{id}/odds}
+ * without a database round trip.
+ * <p>
+ * Matches live in an open-addressing table of primitive {@code long} keys; each slot holds an
+ * immutable {@link Entry} of parallel {@code long[]} ids, {@code String[]} specifiers and
+ * {@code double[]} odds. Writers are serialized and never modify what readers can see: a
+ * changed match gets a new Entry (set atomically in its slot) and new keys go into a copied
+ * key array that is published with the table, so readers never lock. Removed matches leave
+ * an empty slot that is dropped on the next resize.
+ * <p>
+ * Every new Entry gets the next value of an instance-wide sequence as its version, so the version
+ * of a match changes whenever its odds do and can serve as the ETag of its odds list. The sequence
+ * starts at the startup time in microseconds, so versions are not reused after a restart.
+ * <p>
+ * Loaded from the database at startup and kept current by {@link MatchOddsService} and
+ * {@link MatchService}. Their writes are applied after commit, in no
+ * particular order, so a write is only applied if its row version is newer than the one already
+ * applied, and deleted odds are never brought back. The book is reloaded every
+ * {@code app.odds-book.rebuild-interval} to pick up writes made by other instances.
+ * Disabled with {@code app.odds-book.enabled=false}.
+ */
+@Slf4j
+@Component
+public class OddsBook implements SmartInitializingSingleton {
+    private static final float MAX_LOAD = 0.5f;
+
+    private static final class Entry {
+        final long[] ids;
+        final String[] specifiers;
+        final double[] odds;
+        final long version;
+
+        Entry(long[] ids, String[] specifiers, double[] odds, long version) {
+            this.ids = ids;
+            this.specifiers = specifiers;
+            this.odds = odds;
+            this.version = version;
+        }
+
+        int size() {
+            return ids.length;
+        }
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final AtomicReferenceArray<Entry> values;
+        final int used;
+
+        Table(long[] keys, AtomicReferenceArray<Entry> values, int used) {
+            this.keys = keys;
+            this.values = values;
+            this.used = used;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private volatile Table table = emptyTable(16);
+
+    // Writer-side state, guarded by this
+    private final LongLongHashMap matchIdByOddsId = new LongLongHashMap();
+    private final RowVersions rowVersions = new RowVersions();
+    private final Map<String, String> specifierPool = new HashMap<>();
+    private long size;
+    private long lastVersion = System.currentTimeMillis() * 1000;
+
+    public OddsBook(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.odds-book.enabled:true}") boolean enabled,
+            @Value("${app.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.odds-book.rebuild-interval:1h}",
+            fixedDelayString = "${app.odds-book.rebuild-interval:1h}"
+    )
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // <editor-fold desc="READ Methods">
+    /**
+     * Returns the odds of a match ordered by ID, or an empty list for an unknown match.
+     */
+    public List<MatchOddsView> get(long matchId) {
+        Table t = table;
+        int slot = find(t.keys, matchId);
+        Entry entry = slot < 0 ? null : t.values.get(slot);
+        if (entry == null) {
+            return List.of();
+        }
+
+        MatchOddsView[] views = new MatchOddsView[entry.size()];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new MatchOddsView(entry.ids[i], matchId, entry.specifiers[i], entry.odds[i]);
+        }
+        return List.of(views);
+    }
+
+    /**
+     * Returns the version of the odds of a match, or 0 for a match without odds.
+     * Read it before {@link #get} to get a version that is never newer than the odds returned.
+     */
+    public long version(long matchId) {
+        Table t = table;
+        int slot = find(t.keys, matchId);
+        Entry entry = slot < 0 ? null : t.values.get(slot);
+        return entry == null ? 0 : entry.version;
+    }
+
+    /**
+     * Whether the odd is in the book; the book only knows this instance's writes since the last rebuild.
+     */
+    public synchronized boolean contains(long oddsId) {
+        return matchIdByOddsId.get(oddsId, 0) != 0;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="WRITE Methods">
+    /**
+     * Adds saved odds, or replaces them if their ID is already in the book (including a move to another match).
+     * Odds older than the version already in the book, or already deleted, are skipped.
+     */
+    public synchronized void putAll(Collection<MatchOdds> saved) {
+        if (!enabled || saved.isEmpty()) {
+            return;
+        }
+        List<MatchOdds> newer = saved.stream().filter(odds -> rowVersions.accept(odds.getId(), odds.getVersion())).toList();
+        detach(newer.stream().map(MatchOdds::getId).toList());
+
+        Map<Long, List<MatchOdds>> byMatch = new LinkedHashMap<>();
+        for (MatchOdds odds : newer) {
+            byMatch.computeIfAbsent(odds.getMatch().getId(), id -> new ArrayList<>()).add(odds);
+        }
+
+        Table work = table;
+        boolean keysCopied = false;
+        for (Map.Entry<Long, List<MatchOdds>> group : byMatch.entrySet()) {
+            long matchId = group.getKey();
+            int slot = find(work.keys, matchId);
+            if (slot < 0) {
+                if (!keysCopied || work.used + 1 > work.keys.length * MAX_LOAD) {
+                    work = copyForInsert(work);
+                    keysCopied = true;
+                }
+                slot = insertKey(work, matchId);
+                work = new Table(work.keys, work.values, work.used + 1);
+            }
+            work.values.set(slot, append(work.values.get(slot), matchId, group.getValue()));
+        }
+        table = work;
+    }
+
+    public synchronized void removeOdds(Collection<Long> oddsIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Long oddsId : oddsIds) {
+            if (oddsId != null) {
+                rowVersions.delete(oddsId);
+            }
+        }
+        detach(oddsIds);
+    }
+
+    /**
+     * Drops the odds of deleted matches, which their delete removed through the cascade.
+     *
+     * @return The number of odds dropped, so callers can count the cascade without a query; 0 when disabled.
+     */
+    public synchronized long removeMatches(Collection<Long> matchIds) {
+        if (!enabled) {
+            return 0;
+        }
+        long removed = 0;
+        Table t = table;
+        for (Long matchId : matchIds) {
+            int slot = matchId == null ? -1 : find(t.keys, matchId);
+            Entry entry = slot < 0 ? null : t.values.get(slot);
+            if (entry != null) {
+                for (long oddsId : entry.ids) {
+                    matchIdByOddsId.remove(oddsId, 0);
+                    rowVersions.delete(oddsId);
+                }
+                size -= entry.size();
+                removed += entry.size();
+                t.values.set(slot, null);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces the book with the current contents of the match_odds table, read in one read-only
+     * transaction so that the driver streams the rows in chunks of {@code fetchSize}.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        matchIdByOddsId.clear();
+        rowVersions.clear();
+        size = 0;
+
+        Table[] work = {emptyTable(16)};
+        List<MatchOddsRow> pending = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, match_id, specifier, odd, version FROM match_odds ORDER BY match_id, id");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            long matchId = rs.getLong(2);
+            if (!pending.isEmpty() && pending.getFirst().matchId() != matchId) {
+                work[0] = load(work[0], pending);
+                pending.clear();
+            }
+            pending.add(new MatchOddsRow(rs.getLong(1), matchId, rs.getString(3), rs.getDouble(4)));
+            rowVersions.accept(rs.getLong(1), rs.getLong(5));
+        }));
+        if (!pending.isEmpty()) {
+            work[0] = load(work[0], pending);
+        }
+        table = work[0];
+
+        log.info("Odds book loaded: {} odds for {} matches in {} ms",
+                size, work[0].used, (System.nanoTime() - start) / 1_000_000);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    private record MatchOddsRow(long id, long matchId, String specifier, double odd) {
+    }
+
+    /**
+     * Takes the odds out of their match entries without recording them as deleted.
+     */
+    private void detach(Collection<Long> oddsIds) {
+        Map<Long, List<Long>> byMatch = new HashMap<>();
+        for (Long oddsId : oddsIds) {
+            if (oddsId == null) {
+                continue;
+            }
+            long matchId = matchIdByOddsId.remove(oddsId, 0);
+            if (matchId != 0) {
+                byMatch.computeIfAbsent(matchId, id -> new ArrayList<>()).add(oddsId);
+            }
+        }
+
+        Table t = table;
+        byMatch.forEach((matchId, ids) -> {
+            int slot = find(t.keys, matchId);
+            Entry entry = t.values.get(slot);
+            long[] removed = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+            int kept = 0;
+            for (int i = 0; i < entry.size(); i++) {
+                if (Arrays.binarySearch(removed, entry.ids[i]) < 0) {
+                    kept++;
+                }
+            }
+            long[] newIds = new long[kept];
+            String[] newSpecifiers = new String[kept];
+            double[] newOdds = new double[kept];
+            for (int i = 0, j = 0; i < entry.size(); i++) {
+                if (Arrays.binarySearch(removed, entry.ids[i]) < 0) {
+                    newIds[j] = entry.ids[i];
+                    newSpecifiers[j] = entry.specifiers[i];
+                    newOdds[j++] = entry.odds[i];
+                }
+            }
+            size -= entry.size() - kept;
+            t.values.set(slot, kept == 0 ? null : new Entry(newIds, newSpecifiers, newOdds, ++lastVersion));
+        });
+    }
+
+    private Table load(Table work, List<MatchOddsRow> rows) {
+        long matchId = rows.getFirst().matchId();
+        if (work.used + 1 > work.keys.length * MAX_LOAD) {
+            work = resize(work);
+        }
+        int slot = insertKey(work, matchId);
+        work = new Table(work.keys, work.values, work.used + 1);
+
+        long[] ids = new long[rows.size()];
+        String[] specifiers = new String[rows.size()];
+        double[] odds = new double[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            MatchOddsRow row = rows.get(i);
+            ids[i] = row.id();
+            specifiers[i] = pooled(row.specifier());
+            odds[i] = row.odd();
+            matchIdByOddsId.put(row.id(), matchId);
+        }
+        size += ids.length;
+        work.values.set(slot, new Entry(ids, specifiers, odds, ++lastVersion));
+        return work;
+    }
+
+    private Entry append(Entry entry, long matchId, List<MatchOdds> added) {
+        int existing = entry == null ? 0 : entry.size();
+        long[] ids = new long[existing + added.size()];
+        String[] specifiers = new String[ids.length];
+        double[] odds = new double[ids.length];
+        if (entry != null) {
+            System.arraycopy(entry.ids, 0, ids, 0, existing);
+            System.arraycopy(entry.specifiers, 0, specifiers, 0, existing);
+            System.arraycopy(entry.odds, 0, odds, 0, existing);
+        }
+        for (int i = 0; i < added.size(); i++) {
+            MatchOdds o = added.get(i);
+            ids[existing + i] = o.getId();
+            specifiers[existing + i] = pooled(o.getSpecifier());
+            odds[existing + i] = o.getOdd();
+            matchIdByOddsId.put(o.getId(), matchId);
+        }
+        size += added.size();
+        return sortedById(ids, specifiers, odds, ++lastVersion);
+    }
+
+    private static Entry sortedById(long[] ids, String[] specifiers, double[] odds, long version) {
+        boolean sorted = true;
+        for (int i = 1; i < ids.length && sorted; i++) {
+            sorted = ids[i - 1] < ids[i];
+        }
+        if (sorted) {
+            return new Entry(ids, specifiers, odds, version);
+        }
+
+        Integer[] order = new Integer[ids.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        long[] sortedIds = new long[ids.length];
+        String[] sortedSpecifiers = new String[ids.length];
+        double[] sortedOdds = new double[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids[order[i]];
+            sortedSpecifiers[i] = specifiers[order[i]];
+            sortedOdds[i] = odds[order[i]];
+        }
+        return new Entry(sortedIds, sortedSpecifiers, sortedOdds, version);
+    }
+
+    /**
+     * Returns a table whose key array is private to the writer: resized when full,
+     * otherwise a copy sharing the (atomically updated) value slots.
+     */
+    private Table copyForInsert(Table t) {
+        if (t.used + 1 > t.keys.length * MAX_LOAD) {
+            return resize(t);
+        }
+        return new Table(t.keys.clone(), t.values, t.used);
+    }
+
+    private Table resize(Table t) {
+        int live = 0;
+        for (int i = 0; i < t.keys.length; i++) {
+            if (t.keys[i] != 0 && t.values.get(i) != null) {
+                live++;
+            }
+        }
+        Table resized = emptyTable(LongLongHashMap.capacityFor(live + 1) * 2);
+        int used = 0;
+        for (int i = 0; i < t.keys.length; i++) {
+            Entry entry = t.keys[i] == 0 ? null : t.values.get(i);
+            if (entry != null) {
+                resized.values.set(insertKey(resized, t.keys[i]), entry);
+                used++;
+            }
+        }
+        return new Table(resized.keys, resized.values, used);
+    }
+
+    private static int insertKey(Table t, long key) {
+        int mask = t.keys.length - 1;
+        int slot = LongLongHashMap.slot(key, mask);
+        while (t.keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        t.keys[slot] = key;
+        return slot;
+    }
+
+    private static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        for (int slot = LongLongHashMap.slot(key, mask); ; slot = (slot + 1) & mask) {
+            long k = keys[slot];
+            if (k == key) {
+                return slot;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private String pooled(String specifier) {
+        return specifierPool.computeIfAbsent(specifier, s -> s);
+    }
+
+    private static Table emptyTable(int capacity) {
+        return new Table(new long[capacity], new AtomicReferenceArray<>(capacity), 0);
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,14 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+
+/**
+ * Published by {@link MatchOddsService} after odds of a (match, specifier) pair were
+ * inserted, changed or deleted. Also the coalescing key of {@link OddsStreamService}.
+ */
+public record OddsChangedEvent(Long matchId, String specifier) {
+
+    static OddsChangedEvent of(MatchOdds odds) {
+        return new OddsChangedEvent(odds.getMatch().getId(), odds.getSpecifier());
+    }
+}
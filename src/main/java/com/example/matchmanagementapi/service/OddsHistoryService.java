@@ -0,0 +1,282 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.domain.OddsHistoryBlock;
+import com.example.matchmanagementapi.dto.OddsHistoryPoint;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import com.example.matchmanagementapi.repository.OddsHistoryBlockRepository;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only price history of every odds row.
+ * <p>
+ * Writes only append a tick to an in-memory buffer. Every {@code app.odds-history.flush-interval}
+ * the buffers are swapped out and each odds row's ticks are written as one compressed
+ * {@link OddsHistoryBlock} ({@link OddsTickCodec}) in a single batch, so saving odds never waits
+ * for the history table. Reads combine the stored blocks with the ticks not yet flushed.
+ * Disabled with {@code app.odds-history.enabled=false}.
+ */
+@Slf4j
+@Service
+public class OddsHistoryService {
+    private final OddsHistoryBlockRepository blockRepository;
+    private final StatelessBulkWriter statelessBulkWriter;
+    private final boolean enabled;
+
+    // record() holds the read lock to append; flush() holds the write lock to swap the buffers
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    // Readers hold the read lock; flush() holds the write lock while inserting the flushed blocks
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    // One flush at a time; a lock rather than synchronized so a virtual thread is not pinned during the insert
+    private final Lock flushMutex = new ReentrantLock();
+
+    private Map<Long, TickBuffer> pending = new ConcurrentHashMap<>();
+    private Map<Long, TickBuffer> inFlight = Map.of();
+
+    public OddsHistoryService(
+            OddsHistoryBlockRepository blockRepository,
+            StatelessBulkWriter statelessBulkWriter,
+            @Value("${app.odds-history.enabled:true}") boolean enabled
+    ) {
+        this.blockRepository = blockRepository;
+        this.statelessBulkWriter = statelessBulkWriter;
+        this.enabled = enabled;
+    }
+
+    // <editor-fold desc="FIND Methods">
+    /**
+     * Returns the recorded prices of an odds row in the order they were saved,
+     * optionally limited to {@code from <= time <= to}.
+     */
+    public List<OddsHistoryPoint> getHistory(Long oddsId, Instant from, Instant to) {
+        List<OddsHistoryPoint> points = new ArrayList<>();
+        flushLock.readLock().lock();
+        try {
+            for (OddsHistoryBlock block : blockRepository.findByOddsIdOrderByFirstTimeAscIdAsc(oddsId)) {
+                if ((from == null || !block.getLastTime().isBefore(from)) && (to == null || !block.getFirstTime().isAfter(to))) {
+                    addPoints(decode(block), from, to, points);
+                }
+            }
+            for (TickBuffer buffer : buffered(oddsId)) {
+                addPoints(buffer.snapshot(), from, to, points);
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return points;
+    }
+
+    /**
+     * Returns the price in effect at {@code time}: the last one saved at or before it.
+     */
+    public OddsHistoryPoint getOddAt(Long oddsId, Instant time) {
+        long millis = time.toEpochMilli();
+        flushLock.readLock().lock();
+        try {
+            List<TickBuffer> buffers = buffered(oddsId);
+            for (int i = buffers.size() - 1; i >= 0; i--) {
+                OddsHistoryPoint point = lastAtOrBefore(buffers.get(i).snapshot(), millis);
+                if (point != null) {
+                    return point;
+                }
+            }
+
+            OddsHistoryPoint point = blockRepository
+                    .findFirstByOddsIdAndFirstTimeLessThanEqualOrderByFirstTimeDescIdDesc(oddsId, time)
+                    .map(block -> lastAtOrBefore(decode(block), millis))
+                    .orElse(null);
+            if (point == null) {
+                throw new ResourceNotFoundException("No odds history for id " + oddsId + " at " + time);
+            }
+            return point;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="SAVE Methods">
+    /**
+     * Records the current odd of each saved row as a new tick.
+     */
+    public void recordAll(Collection<MatchOdds> saved) {
+        if (!enabled || saved.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        bufferLock.readLock().lock();
+        try {
+            for (MatchOdds odds : saved) {
+                pending.computeIfAbsent(odds.getId(), id -> new TickBuffer()).add(now, odds.getOdd());
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered ticks as compressed blocks; on failure they are put back for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.odds-history.flush-interval:1s}")
+    public void flush() {
+        flushMutex.lock();
+        try {
+            Map<Long, TickBuffer> flushed;
+            bufferLock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                flushed = pending;
+                inFlight = flushed;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                bufferLock.writeLock().unlock();
+            }
+
+            List<OddsHistoryBlock> blocks = new ArrayList<>();
+            flushed.forEach((oddsId, buffer) -> toBlocks(oddsId, buffer.snapshot(), blocks));
+
+            flushLock.writeLock().lock();
+            try {
+                statelessBulkWriter.insertAll(blocks);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} odds history blocks, retrying on the next flush", blocks.size(), e);
+                requeue(flushed);
+            } finally {
+                inFlight = Map.of();
+                flushLock.writeLock().unlock();
+            }
+        } finally {
+            flushMutex.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    private record Ticks(long[] times, double[] odds, int size) {
+    }
+
+    /**
+     * Unflushed buffers of an odds row, oldest first.
+     */
+    private List<TickBuffer> buffered(Long oddsId) {
+        bufferLock.readLock().lock();
+        try {
+            List<TickBuffer> buffers = new ArrayList<>(2);
+            TickBuffer flushing = inFlight.get(oddsId);
+            TickBuffer waiting = pending.get(oddsId);
+            if (flushing != null) {
+                buffers.add(flushing);
+            }
+            if (waiting != null) {
+                buffers.add(waiting);
+            }
+            return buffers;
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    private void requeue(Map<Long, TickBuffer> failed) {
+        bufferLock.writeLock().lock();
+        try {
+            failed.forEach((oddsId, buffer) -> {
+                TickBuffer newer = pending.get(oddsId);
+                if (newer != null) {
+                    buffer.addAll(newer.snapshot());
+                }
+                pending.put(oddsId, buffer);
+            });
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+    }
+
+    private static void toBlocks(Long oddsId, Ticks ticks, List<OddsHistoryBlock> blocks) {
+        for (int from = 0; from < ticks.size(); from += OddsHistoryBlock.MAX_TICKS) {
+            int to = Math.min(from + OddsHistoryBlock.MAX_TICKS, ticks.size());
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                first = Math.min(first, ticks.times()[i]);
+                last = Math.max(last, ticks.times()[i]);
+            }
+            blocks.add(new OddsHistoryBlock(null, oddsId, Instant.ofEpochMilli(first), Instant.ofEpochMilli(last),
+                    to - from, OddsTickCodec.encode(ticks.times(), ticks.odds(), from, to)));
+        }
+    }
+
+    private static Ticks decode(OddsHistoryBlock block) {
+        long[] times = new long[block.getTickCount()];
+        double[] odds = new double[block.getTickCount()];
+        OddsTickCodec.decode(block.getTicks(), block.getTickCount(), times, odds);
+        return new Ticks(times, odds, times.length);
+    }
+
+    private static void addPoints(Ticks ticks, Instant from, Instant to, List<OddsHistoryPoint> points) {
+        for (int i = 0; i < ticks.size(); i++) {
+            Instant time = Instant.ofEpochMilli(ticks.times()[i]);
+            if ((from == null || !time.isBefore(from)) && (to == null || !time.isAfter(to))) {
+                points.add(new OddsHistoryPoint(time, ticks.odds()[i]));
+            }
+        }
+    }
+
+    private static OddsHistoryPoint lastAtOrBefore(Ticks ticks, long millis) {
+        for (int i = ticks.size() - 1; i >= 0; i--) {
+            if (ticks.times()[i] <= millis) {
+                return new OddsHistoryPoint(Instant.ofEpochMilli(ticks.times()[i]), ticks.odds()[i]);
+            }
+        }
+        return null;
+    }
+
+    private static final class TickBuffer {
+        private long[] times = new long[4];
+        private double[] odds = new double[4];
+        private int size;
+
+        synchronized void add(long time, double odd) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                odds = Arrays.copyOf(odds, size * 2);
+            }
+            times[size] = time;
+            odds[size++] = odd;
+        }
+
+        synchronized void addAll(Ticks ticks) {
+            for (int i = 0; i < ticks.size(); i++) {
+                add(ticks.times()[i], ticks.odds()[i]);
+            }
+        }
+
+        synchronized Ticks snapshot() {
+            return new Ticks(Arrays.copyOf(times, size), Arrays.copyOf(odds, size), size);
+        }
+    }
+    // </editor-fold>
+}
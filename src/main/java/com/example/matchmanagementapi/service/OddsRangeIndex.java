@@ -0,0 +1,523 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory index of every odds row ordered by {@code (odd, id)}, partitioned by specifier,
+ * answering {@code odd}/{@code oddOver}/{@code oddUnder} searches with a binary search and a
+ * contiguous scan instead of a full scan of match_odds.
+ * <p>
+ * Each partition is a list of sorted blocks of at most {@value #BLOCK_SIZE} entries held in
+ * parallel {@code double[]}/{@code long[]} arrays. Writes are serialized and copy only the
+ * blocks they touch, then publish a new partition map, so readers never lock and always see
+ * a consistent snapshot.
+ * <p>
+ * Loaded from the database at startup and kept current by {@link MatchOddsService} and
+ * {@link MatchService}, skipping writes older than the row version already applied as
+ * {@link OddsBook} does, and reloaded every
+ * {@code app.odds-range-index.rebuild-interval} to pick up writes made by other instances.
+ * Disabled with {@code app.odds-range-index.enabled=false}.
+ */
+@Slf4j
+@Component
+public class OddsRangeIndex implements SmartInitializingSingleton {
+    static final int BLOCK_SIZE = 1024;
+
+    private static final Block[] NO_BLOCKS = new Block[0];
+    private static final Comparator<Row> ROW_ORDER = (a, b) -> compare(a.odd(), a.id(), b.odd(), b.id());
+
+    /**
+     * Entries sorted by (odd, id); never modified once published.
+     */
+    private record Block(double[] odds, long[] ids, long[] matchIds) {
+        int size() {
+            return ids.length;
+        }
+
+        double lastOdd() {
+            return odds[odds.length - 1];
+        }
+
+        long lastId() {
+            return ids[ids.length - 1];
+        }
+    }
+
+    private record Row(double odd, long id, long matchId) {
+    }
+
+    private record Changes(List<Row> inserts, List<Row> removals) {
+        Changes() {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private volatile Map<String, Block[]> partitions = Map.of();
+
+    // Writer-side state, guarded by this: where each odds ID currently sits
+    private final LongLongHashMap oddBitsById = new LongLongHashMap();
+    private final LongLongHashMap specifierById = new LongLongHashMap();
+    private final RowVersions rowVersions = new RowVersions();
+    private final List<String> specifiers = new ArrayList<>();
+    private final Map<String, Integer> specifierOrdinals = new HashMap<>();
+
+    public OddsRangeIndex(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.odds-range-index.enabled:true}") boolean enabled,
+            @Value("${app.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.odds-range-index.rebuild-interval:1h}",
+            fixedDelayString = "${app.odds-range-index.rebuild-interval:1h}"
+    )
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // <editor-fold desc="READ Methods">
+    /**
+     * Returns up to {@code limit} odds with {@code from <= odd <= to}, in {@code sort} order,
+     * starting after the row whose sort values are {@code after} (null for the first page).
+     *
+     * @param specifier Only this specifier, or every specifier when null.
+     */
+    List<MatchOddsView> find(String specifier, double from, double to, MatchOddsSort sort, List<String> after, int limit) {
+        Map<String, Block[]> snapshot = partitions;
+        Map<String, Block[]> scanned = specifier == null
+                ? snapshot
+                : snapshot.containsKey(specifier) ? Map.of(specifier, snapshot.get(specifier)) : Map.of();
+
+        return sort == MatchOddsSort.ODD
+                ? findByOdd(scanned, from, to, after, limit)
+                : findById(scanned, from, to, after, limit);
+    }
+
+    public synchronized long size() {
+        return specifierById.size();
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="WRITE Methods">
+    /**
+     * Adds saved odds, or moves them if their ID is already indexed (changed odd, specifier or match).
+     * Odds older than the version already indexed, or already deleted, are skipped.
+     */
+    public synchronized void putAll(Collection<MatchOdds> saved) {
+        if (!enabled || saved.isEmpty()) {
+            return;
+        }
+        List<MatchOdds> newer = saved.stream().filter(odds -> rowVersions.accept(odds.getId(), odds.getVersion())).toList();
+        Map<String, Changes> changes = new HashMap<>();
+        collectRemovals(newer.stream().map(MatchOdds::getId).toList(), changes);
+
+        for (MatchOdds odds : newer) {
+            Row row = new Row(odds.getOdd(), odds.getId(), odds.getMatch().getId());
+            changes.computeIfAbsent(odds.getSpecifier(), s -> new Changes()).inserts().add(row);
+            oddBitsById.put(row.id(), Double.doubleToLongBits(row.odd()));
+            specifierById.put(row.id(), ordinal(odds.getSpecifier()));
+        }
+        apply(changes);
+    }
+
+    public synchronized void removeOdds(Collection<Long> oddsIds) {
+        if (!enabled) {
+            return;
+        }
+        for (Long oddsId : oddsIds) {
+            if (oddsId != null) {
+                rowVersions.delete(oddsId);
+            }
+        }
+        Map<String, Changes> changes = new HashMap<>();
+        collectRemovals(oddsIds, changes);
+        apply(changes);
+    }
+
+    /**
+     * Removes every odd of the given matches; scans the index, as match deletes are rare.
+     */
+    public synchronized void removeMatches(Collection<Long> matchIds) {
+        if (!enabled || matchIds.isEmpty()) {
+            return;
+        }
+        LongLongHashMap removed = new LongLongHashMap(matchIds.size());
+        matchIds.forEach(id -> removed.put(id, 1));
+
+        List<Long> oddsIds = new ArrayList<>();
+        for (Block[] blocks : partitions.values()) {
+            for (Block block : blocks) {
+                for (int i = 0; i < block.size(); i++) {
+                    if (removed.get(block.matchIds()[i], 0) != 0) {
+                        oddsIds.add(block.ids()[i]);
+                    }
+                }
+            }
+        }
+        removeOdds(oddsIds);
+    }
+
+    /**
+     * Replaces the index with the current contents of the match_odds table, read in one read-only
+     * transaction so that the driver streams the rows in chunks of {@code fetchSize}.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        oddBitsById.clear();
+        specifierById.clear();
+        rowVersions.clear();
+
+        Map<String, List<Block>> loaded = new HashMap<>();
+        BlockBuilder builder = new BlockBuilder();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, match_id, specifier, odd, version FROM match_odds ORDER BY specifier, odd, id");
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            String specifier = rs.getString(3);
+            if (!specifier.equals(builder.specifier)) {
+                builder.flush(loaded);
+                builder.specifier = specifier;
+            }
+            long id = rs.getLong(1);
+            double odd = rs.getDouble(4);
+            builder.add(odd, id, rs.getLong(2));
+            if (builder.size == BLOCK_SIZE) {
+                builder.flush(loaded);
+            }
+            oddBitsById.put(id, Double.doubleToLongBits(odd));
+            specifierById.put(id, ordinal(specifier));
+            rowVersions.accept(id, rs.getLong(5));
+        }));
+        builder.flush(loaded);
+
+        Map<String, Block[]> next = new HashMap<>();
+        loaded.forEach((specifier, blocks) -> next.put(specifier, blocks.toArray(NO_BLOCKS)));
+        partitions = Map.copyOf(next);
+
+        log.info("Odds range index loaded: {} odds in {} specifiers in {} ms",
+                specifierById.size(), next.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Private HELPER Methods">
+    private static List<MatchOddsView> findByOdd(Map<String, Block[]> scanned, double from, double to, List<String> after, int limit) {
+        double startOdd = from;
+        long startId = Long.MIN_VALUE;
+        if (after != null) {
+            double afterOdd = Double.parseDouble(after.get(0));
+            long afterId = Long.parseLong(after.get(1));
+            if (compare(afterOdd, afterId, startOdd, startId) >= 0) {
+                startOdd = afterOdd;
+                startId = afterId + 1;
+            }
+        }
+
+        List<MatchOddsView> rows = new ArrayList<>();
+        for (Map.Entry<String, Block[]> partition : scanned.entrySet()) {
+            Block[] blocks = partition.getValue();
+            int taken = 0;
+            int b = firstBlock(blocks, startOdd, startId);
+            for (int i = b < blocks.length ? firstIndex(blocks[b], startOdd, startId) : 0; b < blocks.length && taken < limit; b++, i = 0) {
+                Block block = blocks[b];
+                for (; i < block.size() && taken < limit; i++) {
+                    if (block.odds()[i] > to) {
+                        taken = limit;
+                        break;
+                    }
+                    rows.add(new MatchOddsView(block.ids()[i], block.matchIds()[i], partition.getKey(), block.odds()[i]));
+                    taken++;
+                }
+            }
+        }
+
+        if (scanned.size() > 1) {
+            rows.sort(Comparator.comparingDouble(MatchOddsView::odd).thenComparing(MatchOddsView::id));
+            return rows.size() > limit ? rows.subList(0, limit) : rows;
+        }
+        return rows;
+    }
+
+    /**
+     * Scans the whole odd range, keeping only the {@code limit} smallest IDs after the cursor.
+     */
+    private static List<MatchOddsView> findById(Map<String, Block[]> scanned, double from, double to, List<String> after, int limit) {
+        long afterId = after != null ? Long.parseLong(after.getFirst()) : Long.MIN_VALUE;
+        PriorityQueue<MatchOddsView> smallest = new PriorityQueue<>(limit + 1, Comparator.comparing(MatchOddsView::id).reversed());
+
+        for (Map.Entry<String, Block[]> partition : scanned.entrySet()) {
+            Block[] blocks = partition.getValue();
+            int b = firstBlock(blocks, from, Long.MIN_VALUE);
+            scan:
+            for (int i = b < blocks.length ? firstIndex(blocks[b], from, Long.MIN_VALUE) : 0; b < blocks.length; b++, i = 0) {
+                Block block = blocks[b];
+                for (; i < block.size(); i++) {
+                    if (block.odds()[i] > to) {
+                        break scan;
+                    }
+                    long id = block.ids()[i];
+                    if (id <= afterId || (smallest.size() == limit && id >= smallest.peek().id())) {
+                        continue;
+                    }
+                    smallest.add(new MatchOddsView(id, block.matchIds()[i], partition.getKey(), block.odds()[i]));
+                    if (smallest.size() > limit) {
+                        smallest.poll();
+                    }
+                }
+            }
+        }
+
+        List<MatchOddsView> rows = new ArrayList<>(smallest);
+        rows.sort(Comparator.comparing(MatchOddsView::id));
+        return rows;
+    }
+
+    private void collectRemovals(Collection<Long> oddsIds, Map<String, Changes> changes) {
+        for (Long id : oddsIds) {
+            long ordinal = id == null ? -1 : specifierById.remove(id, -1);
+            if (ordinal >= 0) {
+                double odd = Double.longBitsToDouble(oddBitsById.remove(id, 0));
+                changes.computeIfAbsent(specifiers.get((int) ordinal), s -> new Changes())
+                        .removals().add(new Row(odd, id, 0));
+            }
+        }
+    }
+
+    private void apply(Map<String, Changes> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, Block[]> next = new HashMap<>(partitions);
+        changes.forEach((specifier, change) -> {
+            change.inserts().sort(ROW_ORDER);
+            change.removals().sort(ROW_ORDER);
+            Block[] merged = merge(next.getOrDefault(specifier, NO_BLOCKS), change.inserts(), change.removals());
+            if (merged.length == 0) {
+                next.remove(specifier);
+            } else {
+                next.put(specifier, merged);
+            }
+        });
+        partitions = Map.copyOf(next);
+    }
+
+    /**
+     * Routes each insert and removal to the block whose key range covers it and rewrites only
+     * those blocks; untouched blocks are shared with the previous snapshot.
+     */
+    private static Block[] merge(Block[] blocks, List<Row> inserts, List<Row> removals) {
+        List<Block> result = new ArrayList<>(blocks.length + 1);
+        if (blocks.length == 0) {
+            rewrite(null, inserts, result);
+            return result.toArray(NO_BLOCKS);
+        }
+
+        int ins = 0;
+        int rem = 0;
+        for (int b = 0; b < blocks.length; b++) {
+            Block block = blocks[b];
+            boolean last = b == blocks.length - 1;
+            int insEnd = last ? inserts.size() : endOfRange(inserts, ins, block);
+            int remEnd = last ? removals.size() : endOfRange(removals, rem, block);
+            if (insEnd == ins && remEnd == rem) {
+                result.add(block);
+                continue;
+            }
+            rewrite(withoutRemovals(block, removals.subList(rem, remEnd)), inserts.subList(ins, insEnd), result);
+            ins = insEnd;
+            rem = remEnd;
+        }
+        return result.toArray(NO_BLOCKS);
+    }
+
+    private static int endOfRange(List<Row> rows, int from, Block block) {
+        int end = from;
+        while (end < rows.size() && compare(rows.get(end).odd(), rows.get(end).id(), block.lastOdd(), block.lastId()) <= 0) {
+            end++;
+        }
+        return end;
+    }
+
+    private static Block withoutRemovals(Block block, List<Row> removals) {
+        if (removals.isEmpty()) {
+            return block;
+        }
+        List<Row> kept = new ArrayList<>(block.size());
+        int r = 0;
+        for (int i = 0; i < block.size(); i++) {
+            double odd = block.odds()[i];
+            long id = block.ids()[i];
+            while (r < removals.size() && compare(removals.get(r).odd(), removals.get(r).id(), odd, id) < 0) {
+                r++;
+            }
+            if (r < removals.size() && compare(removals.get(r).odd(), removals.get(r).id(), odd, id) == 0) {
+                continue;
+            }
+            kept.add(new Row(odd, id, block.matchIds()[i]));
+        }
+        return toBlock(kept);
+    }
+
+    /**
+     * Merges a block with sorted inserts and appends the result as one or more blocks,
+     * splitting evenly so that none exceeds {@value #BLOCK_SIZE} entries.
+     */
+    private static void rewrite(Block block, List<Row> inserts, List<Block> result) {
+        int existing = block == null ? 0 : block.size();
+        int total = existing + inserts.size();
+        if (total == 0) {
+            return;
+        }
+        double[] odds = new double[total];
+        long[] ids = new long[total];
+        long[] matchIds = new long[total];
+        for (int i = 0, j = 0, k = 0; k < total; k++) {
+            boolean fromBlock = j >= inserts.size() || (i < existing
+                    && compare(block.odds()[i], block.ids()[i], inserts.get(j).odd(), inserts.get(j).id()) < 0);
+            if (fromBlock) {
+                odds[k] = block.odds()[i];
+                ids[k] = block.ids()[i];
+                matchIds[k] = block.matchIds()[i++];
+            } else {
+                Row row = inserts.get(j++);
+                odds[k] = row.odd();
+                ids[k] = row.id();
+                matchIds[k] = row.matchId();
+            }
+        }
+
+        int parts = (total + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int p = 0; p < parts; p++) {
+            int from = (int) ((long) total * p / parts);
+            int to = (int) ((long) total * (p + 1) / parts);
+            result.add(new Block(
+                    Arrays.copyOfRange(odds, from, to),
+                    Arrays.copyOfRange(ids, from, to),
+                    Arrays.copyOfRange(matchIds, from, to)));
+        }
+    }
+
+    private static Block toBlock(List<Row> rows) {
+        double[] odds = new double[rows.size()];
+        long[] ids = new long[rows.size()];
+        long[] matchIds = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            odds[i] = rows.get(i).odd();
+            ids[i] = rows.get(i).id();
+            matchIds[i] = rows.get(i).matchId();
+        }
+        return new Block(odds, ids, matchIds);
+    }
+
+    /**
+     * Index of the first block whose last entry is not before (odd, id), or {@code blocks.length}.
+     */
+    private static int firstBlock(Block[] blocks, double odd, long id) {
+        int low = 0;
+        int high = blocks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(blocks[mid].lastOdd(), blocks[mid].lastId(), odd, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int firstIndex(Block block, double odd, long id) {
+        int low = 0;
+        int high = block.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(block.odds()[mid], block.ids()[mid], odd, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(double oddA, long idA, double oddB, long idB) {
+        int byOdd = Double.compare(oddA, oddB);
+        return byOdd != 0 ? byOdd : Long.compare(idA, idB);
+    }
+
+    private int ordinal(String specifier) {
+        return specifierOrdinals.computeIfAbsent(specifier, s -> {
+            specifiers.add(s);
+            return specifiers.size() - 1;
+        });
+    }
+
+    private static final class BlockBuilder {
+        private String specifier;
+        private final double[] odds = new double[BLOCK_SIZE];
+        private final long[] ids = new long[BLOCK_SIZE];
+        private final long[] matchIds = new long[BLOCK_SIZE];
+        private int size;
+
+        void add(double odd, long id, long matchId) {
+            odds[size] = odd;
+            ids[size] = id;
+            matchIds[size++] = matchId;
+        }
+
+        void flush(Map<String, List<Block>> loaded) {
+            if (size > 0) {
+                loaded.computeIfAbsent(specifier, s -> new ArrayList<>()).add(new Block(
+                        Arrays.copyOf(odds, size),
+                        Arrays.copyOf(ids, size),
+                        Arrays.copyOf(matchIds, size)));
+                size = 0;
+            }
+        }
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,226 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.OddsUpdate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes odds changes to server-sent event subscribers of one or more matches.
+ * <p>
+ * {@link OddsChangedEvent}s only mark their (match, specifier) pair as dirty. Every
+ * {@code app.odds-stream.coalesce-window} the dirty pairs are drained, the current odds of each
+ * pair are read and serialized once, and the same JSON is handed to every subscriber of the match.
+ * Each subscriber keeps only the latest JSON per pair and is written to by its own virtual
+ * thread, so a burst of changes costs one read per pair, a slow consumer skips intermediate
+ * prices instead of building a backlog, and no subscriber can hold up the others.
+ */
+@Slf4j
+@Service
+public class OddsStreamService {
+    private static final String EVENT_NAME = "odds";
+
+    private final MatchService matchService;
+    private final MatchOddsService matchOddsService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<Subscriber>> subscribersByMatch = new ConcurrentHashMap<>();
+    private final Set<OddsChangedEvent> dirty = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OddsStreamService(
+            MatchService matchService,
+            MatchOddsService matchOddsService,
+            ObjectMapper objectMapper,
+            @Value("${app.odds-stream.timeout:30m}") Duration timeout
+    ) {
+        this.matchService = matchService;
+        this.matchOddsService = matchOddsService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Opens a stream for the given matches. The current odds of every specifier are sent
+     * first, followed by an update whenever they change.
+     */
+    public SseEmitter subscribe(Collection<Long> matchIds) {
+        Set<Long> ids = new LinkedHashSet<>(matchIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one match ID is required.");
+        }
+        matchService.findAllById(ids);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, ids);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        ids.forEach(id -> subscribersByMatch.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(subscriber));
+
+        for (Long matchId : ids) {
+            currentOdds(matchId).forEach((specifier, odds) ->
+                    subscriber.offer(new OddsChangedEvent(matchId, specifier), toJson(new OddsUpdate(matchId, specifier, odds))));
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onOddsChanged(OddsChangedEvent event) {
+        if (subscribersByMatch.containsKey(event.matchId())) {
+            dirty.add(event);
+        }
+    }
+
+    /**
+     * Sends the latest odds of every pair that changed since the previous run.
+     */
+    @Scheduled(fixedDelayString = "${app.odds-stream.coalesce-window:250ms}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        // Drain before reading, so a change racing with this run is picked up by the next one
+        Map<Long, Set<String>> changed = new HashMap<>();
+        for (Iterator<OddsChangedEvent> it = dirty.iterator(); it.hasNext(); ) {
+            OddsChangedEvent event = it.next();
+            it.remove();
+            changed.computeIfAbsent(event.matchId(), id -> new HashSet<>()).add(event.specifier());
+        }
+
+        changed.forEach((matchId, specifiers) -> {
+            Set<Subscriber> subscribers = subscribersByMatch.get(matchId);
+            if (subscribers == null || subscribers.isEmpty()) {
+                return;
+            }
+            Map<String, List<MatchOddsView>> current = currentOdds(matchId);
+            for (String specifier : specifiers) {
+                OddsChangedEvent key = new OddsChangedEvent(matchId, specifier);
+                String json = toJson(new OddsUpdate(matchId, specifier, current.getOrDefault(specifier, List.of())));
+                subscribers.forEach(subscriber -> subscriber.offer(key, json));
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return (int) subscribersByMatch.values().stream().flatMap(Set::stream).distinct().count();
+    }
+
+    /**
+     * Ends every open stream when the application starts closing, so graceful shutdown
+     * does not wait for them to time out.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribersByMatch.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .toList()
+                .forEach(subscriber -> subscriber.emitter.complete());
+        subscribersByMatch.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private Map<String, List<MatchOddsView>> currentOdds(Long matchId) {
+        return matchOddsService.getOddsViewsForMatch(matchId).stream()
+                .collect(Collectors.groupingBy(MatchOddsView::specifier, HashMap::new, Collectors.toList()));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        for (Long matchId : subscriber.matchIds) {
+            subscribersByMatch.computeIfPresent(matchId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private String toJson(OddsUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize odds update", e);
+        }
+    }
+
+    /**
+     * Latest unsent JSON per (match, specifier) of one client, written by at most one sender at a time.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> matchIds;
+        private final Map<OddsChangedEvent, String> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Long> matchIds) {
+            this.emitter = emitter;
+            this.matchIds = matchIds;
+        }
+
+        void offer(OddsChangedEvent key, String json) {
+            pending.put(key, json);
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (!pending.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                for (OddsChangedEvent key : pending.keySet()) {
+                    String json = pending.remove(key);
+                    if (json != null) {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(json));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping odds stream subscriber: {}", e.getMessage());
+                pending.clear();
+                unsubscribe(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            scheduleSend();
+        }
+    }
+    // </editor-fold>
+}
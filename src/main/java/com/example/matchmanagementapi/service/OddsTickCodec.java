@@ -0,0 +1,167 @@
+package com.example.matchmanagementapi.service;
+
+import java.util.Arrays;
+
+/**
+ * Gorilla-style compression of a price series (Pelkonen et al., "Gorilla: A Fast, Scalable,
+ * In-Memory Time Series Database"). The first tick is stored raw; after that each timestamp
+ * is the delta of its delta in a variable-length bucket and each odd is the XOR with the
+ * previous one, written as only its meaningful bits. An unchanged tick interval and an
+ * unchanged price cost one bit each.
+ */
+final class OddsTickCodec {
+
+    private OddsTickCodec() {
+    }
+
+    /**
+     * Encodes ticks {@code [from, to)} of the parallel arrays (epoch millis and odds).
+     */
+    static byte[] encode(long[] times, double[] odds, int from, int to) {
+        BitWriter out = new BitWriter(16 + (to - from) * 4);
+        long previousTime = times[from];
+        long previousDelta = 0;
+        long previousBits = Double.doubleToRawLongBits(odds[from]);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        out.write(previousTime, 64);
+        out.write(previousBits, 64);
+
+        for (int i = from + 1; i < to; i++) {
+            long delta = times[i] - previousTime;
+            long deltaOfDelta = delta - previousDelta;
+            if (deltaOfDelta == 0) {
+                out.write(0, 1);
+            } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+                out.write(0b10, 2);
+                out.write(deltaOfDelta, 7);
+            } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+                out.write(0b110, 3);
+                out.write(deltaOfDelta, 9);
+            } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+                out.write(0b1110, 4);
+                out.write(deltaOfDelta, 12);
+            } else {
+                out.write(0b1111, 4);
+                out.write(deltaOfDelta, 64);
+            }
+            previousDelta = delta;
+            previousTime = times[i];
+
+            long bits = Double.doubleToRawLongBits(odds[i]);
+            long xor = bits ^ previousBits;
+            if (xor == 0) {
+                out.write(0, 1);
+            } else {
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    out.write(0b10, 2);
+                    out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int meaningful = 64 - leading - trailing;
+                    out.write(0b11, 2);
+                    out.write(leading, 5);
+                    out.write(meaningful - 1, 6);
+                    out.write(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previousBits = bits;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes {@code count} ticks into the start of {@code times} and {@code odds}.
+     */
+    static void decode(byte[] data, int count, long[] times, double[] odds) {
+        BitReader in = new BitReader(data);
+        long time = in.read(64);
+        long bits = in.read(64);
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        times[0] = time;
+        odds[0] = Double.longBitsToDouble(bits);
+
+        for (int i = 1; i < count; i++) {
+            if (in.read(1) != 0) {
+                if (in.read(1) == 0) {
+                    delta += in.readSigned(7);
+                } else if (in.read(1) == 0) {
+                    delta += in.readSigned(9);
+                } else if (in.read(1) == 0) {
+                    delta += in.readSigned(12);
+                } else {
+                    delta += in.read(64);
+                }
+            }
+            time += delta;
+
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = (int) in.read(5);
+                    trailing = 64 - leading - ((int) in.read(6) + 1);
+                }
+                bits ^= in.read(64 - leading - trailing) << trailing;
+            }
+            times[i] = time;
+            odds[i] = Double.longBitsToDouble(bits);
+        }
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private static final class BitWriter {
+        private byte[] buffer;
+        private long position;
+
+        BitWriter(int expectedBytes) {
+            buffer = new byte[Math.max(expectedBytes, 16)];
+        }
+
+        /**
+         * Appends the low {@code bits} bits of {@code value}, most significant first.
+         */
+        void write(long value, int bits) {
+            if (((position + bits) >>> 3) >= buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, (int) ((position + bits) >>> 3) + 1));
+            }
+            for (int i = bits - 1; i >= 0; i--) {
+                if (((value >>> i) & 1) != 0) {
+                    buffer[(int) (position >>> 3)] |= (byte) (0x80 >>> (position & 7));
+                }
+                position++;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, (int) ((position + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] buffer;
+        private long position;
+
+        BitReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        long read(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++) {
+                int bit = (buffer[(int) (position >>> 3)] >>> (7 - (position & 7))) & 1;
+                value = (value << 1) | bit;
+                position++;
+            }
+            return value;
+        }
+
+        long readSigned(int bits) {
+            return (read(bits) << (64 - bits)) >> (64 - bits);
+        }
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,271 @@
+package com.example.matchmanagementapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded write-behind queue of odds updates.
+ * <p>
+ * Updates wait in a ring buffer of {@code app.odds-write-behind.capacity} slots, one per odds row:
+ * a second update to a row that is still queued is merged into its slot (last write wins per field)
+ * instead of taking a new one. When every slot is taken, producers wait up to
+ * {@code app.odds-write-behind.enqueue-timeout} for the flush to make room and are then turned away
+ * with 503. {@link #flush} drains the queue in arrival order, in batches whose size adapts to the
+ * measured write time: it grows by {@code min-batch-size} while full batches stay under
+ * {@code target-flush-latency} and halves when they exceed it. A batch that fails is kept and
+ * retried before anything else is drained, so a database outage turns into backpressure. After
+ * {@code max-retries} failed retries it is dropped and logged, so one batch that can never be
+ * written does not block the queue for good.
+ * <p>
+ * Metrics: {@code odds.write-behind.queue.depth}, {@code odds.write-behind.batch.size},
+ * {@code odds.write-behind.flush} (per batch), {@code odds.write-behind.enqueue.wait},
+ * {@code odds.write-behind.updates} ({@code received}, {@code dequeued}, {@code dropped}) and
+ * {@code odds.write-behind.coalescing.ratio} (updates received per row write).
+ */
+@Slf4j
+@Component
+public class OddsUpdateQueue {
+    private final boolean enabled;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetFlushNanos;
+    private final long enqueueTimeoutNanos;
+    private final int maxRetries;
+
+    // Ring buffer state, guarded by lock
+    private final Lock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final QueuedOddsUpdate[] ring;
+    private final LongLongHashMap slotById;
+    private int head;
+    private int size;
+
+    // Flush state, guarded by flushMutex
+    private final Lock flushMutex = new ReentrantLock();
+    private List<QueuedOddsUpdate> retry = List.of();
+    private int retries;
+    private volatile int batchSize;
+
+    private final Counter received;
+    private final Counter dequeued;
+    private final Counter dropped;
+    private final Timer flushTimer;
+    private final Timer enqueueWait;
+
+    public OddsUpdateQueue(
+            @Value("${app.odds-write-behind.enabled:false}") boolean enabled,
+            @Value("${app.odds-write-behind.capacity:100000}") int capacity,
+            @Value("${app.odds-write-behind.min-batch-size:50}") int minBatchSize,
+            @Value("${app.odds-write-behind.max-batch-size:5000}") int maxBatchSize,
+            @Value("${app.odds-write-behind.target-flush-latency:50ms}") Duration targetFlushLatency,
+            @Value("${app.odds-write-behind.enqueue-timeout:1s}") Duration enqueueTimeout,
+            @Value("${app.odds-write-behind.max-retries:50}") int maxRetries,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetFlushNanos = targetFlushLatency.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.maxRetries = maxRetries;
+        this.ring = new QueuedOddsUpdate[capacity];
+        this.slotById = new LongLongHashMap(capacity);
+        this.batchSize = minBatchSize;
+
+        this.received = Counter.builder("odds.write-behind.updates").tag("state", "received")
+                .description("Odds updates accepted into the write-behind queue").register(meterRegistry);
+        this.dequeued = Counter.builder("odds.write-behind.updates").tag("state", "dequeued")
+                .description("Coalesced odds updates taken from the queue for writing").register(meterRegistry);
+        this.dropped = Counter.builder("odds.write-behind.updates").tag("state", "dropped")
+                .description("Queued odds updates that could not be applied").register(meterRegistry);
+        this.flushTimer = Timer.builder("odds.write-behind.flush")
+                .description("Time to write one batch of queued odds updates")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.enqueueWait = Timer.builder("odds.write-behind.enqueue.wait")
+                .description("Time producers waited for room in a full queue")
+                .register(meterRegistry);
+        Gauge.builder("odds.write-behind.queue.depth", this, OddsUpdateQueue::getDepth)
+                .description("Odds rows with a queued update").register(meterRegistry);
+        Gauge.builder("odds.write-behind.batch.size", this, OddsUpdateQueue::getBatchSize)
+                .description("Current adaptive flush batch size").register(meterRegistry);
+        Gauge.builder("odds.write-behind.coalescing.ratio", this, OddsUpdateQueue::getCoalescingRatio)
+                .description("Odds updates received per row write").register(meterRegistry);
+    }
+
+    /**
+     * Whether PUT/PATCH /api/matchOdds/{id} should go through this queue.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues {@code update}, merging it into the queued update of the same row if there is one.
+     * Waits for room while the queue is full and fails with 503 after {@code enqueue-timeout}.
+     */
+    public void enqueue(QueuedOddsUpdate update) {
+        long remaining = enqueueTimeoutNanos;
+        long waitStart = 0;
+        lock.lock();
+        try {
+            while (true) {
+                int slot = (int) slotById.get(update.id(), -1);
+                if (slot >= 0) {
+                    ring[slot] = ring[slot].then(update);
+                    break;
+                }
+                if (size < ring.length) {
+                    int tail = (head + size) % ring.length;
+                    ring[tail] = update;
+                    slotById.put(update.id(), tail);
+                    size++;
+                    break;
+                }
+                if (remaining <= 0) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Odds update queue is full, retry later.");
+                }
+                if (waitStart == 0) {
+                    waitStart = System.nanoTime();
+                }
+                try {
+                    remaining = notFull.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the odds update queue.");
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (waitStart != 0) {
+                enqueueWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            }
+        }
+        received.increment();
+    }
+
+    /**
+     * Drains the updates queued when the run starts and hands them to {@code writer} batch by batch.
+     * The writer returns how many updates it applied; the rest are counted as dropped. If it throws,
+     * the batch is kept for the next run, and dropped once it has failed {@code max-retries} more times.
+     */
+    public void flush(ToIntFunction<List<QueuedOddsUpdate>> writer) {
+        flushMutex.lock();
+        try {
+            if (!retry.isEmpty()) {
+                if (!write(retry, writer)) {
+                    if (++retries < maxRetries) {
+                        return;
+                    }
+                    log.error("Dropping {} queued odds updates after {} failed retries, ids {}",
+                            retry.size(), retries, retry.stream().map(QueuedOddsUpdate::id).toList());
+                    dropped.increment(retry.size());
+                }
+                retry = List.of();
+                retries = 0;
+            }
+
+            // Bounded by the depth at the start, so steady producers cannot keep one run going forever
+            int remaining = getDepth();
+            while (remaining > 0) {
+                List<QueuedOddsUpdate> batch = drain(Math.min(batchSize, remaining));
+                if (batch.isEmpty()) {
+                    return;
+                }
+                remaining -= batch.size();
+                dequeued.increment(batch.size());
+                if (!write(batch, writer)) {
+                    retry = batch;
+                    return;
+                }
+            }
+        } finally {
+            flushMutex.unlock();
+        }
+    }
+
+    public int getDepth() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public double getCoalescingRatio() {
+        double rows = dequeued.count() + getDepth();
+        return rows == 0 ? 1.0 : received.count() / rows;
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private List<QueuedOddsUpdate> drain(int max) {
+        lock.lock();
+        try {
+            int n = Math.min(max, size);
+            List<QueuedOddsUpdate> batch = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                QueuedOddsUpdate update = ring[head];
+                ring[head] = null;
+                slotById.remove(update.id(), -1);
+                batch.add(update);
+                head = (head + 1) % ring.length;
+            }
+            size -= n;
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean write(List<QueuedOddsUpdate> batch, ToIntFunction<List<QueuedOddsUpdate>> writer) {
+        long start = System.nanoTime();
+        try {
+            int written = writer.applyAsInt(batch);
+            dropped.increment(batch.size() - written);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} queued odds updates, retrying on the next flush", batch.size(), e);
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            adapt(batch.size(), elapsed);
+        }
+    }
+
+    /**
+     * Additive increase while full batches stay under the target latency, halving when one exceeds it.
+     */
+    private void adapt(int written, long elapsedNanos) {
+        if (elapsedNanos > targetFlushNanos) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (written >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize + minBatchSize);
+        }
+    }
+    // </editor-fold>
+}
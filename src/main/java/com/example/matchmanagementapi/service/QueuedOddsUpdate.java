@@ -0,0 +1,20 @@
+package com.example.matchmanagementapi.service;
+
+/**
+ * A pending change to one odds row, as queued by {@link OddsUpdateQueue}.
+ * A {@code null} field is left unchanged.
+ */
+public record QueuedOddsUpdate(Long id, Long matchId, String specifier, Double odd) {
+
+    /**
+     * Applies {@code later} on top of this update: its non-null fields win.
+     */
+    public QueuedOddsUpdate then(QueuedOddsUpdate later) {
+        return new QueuedOddsUpdate(
+                id,
+                later.matchId != null ? later.matchId : matchId,
+                later.specifier != null ? later.specifier : specifier,
+                later.odd != null ? later.odd : odd
+        );
+    }
+}
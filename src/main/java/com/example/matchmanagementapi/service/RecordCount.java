@@ -0,0 +1,18 @@
+package com.example.matchmanagementapi.service;
+
+/**
+ * Number of records in a table, and whether it is exact or an estimate from database statistics.
+ *
+ * @param value The number of records.
+ * @param exact False when the value comes from database statistics.
+ */
+public record RecordCount(long value, boolean exact) {
+    public static final String ACCURACY_HEADER = "X-Count-Accuracy";
+
+    /**
+     * The value of the {@link #ACCURACY_HEADER} response header: "exact" or "estimated".
+     */
+    public String accuracy() {
+        return exact ? "exact" : "estimated";
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.MatchRepository;
+import com.example.matchmanagementapi.repository.TableStatistics;
+import com.example.matchmanagementapi.service.SearchResultCache.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row counts of the matches and match_odds tables held in memory, so the count endpoints do not
+ * run a {@code COUNT(*)} (a full scan on PostgreSQL) on every call.
+ * <p>
+ * A table is counted on its first read, then the create and delete paths of this instance move
+ * its count after they commit (a match delete also subtracts the odds it cascades to). Every
+ * {@code app.record-count.reconcile-interval} the counts are reconciled with the database, which
+ * picks up writes made by other instances or outside the application.
+ * <p>
+ * Counts come from {@code COUNT(*)} in the default {@code exact} mode. In {@code estimated} mode
+ * they come from the database statistics ({@link TableStatistics}) instead, so no table is ever
+ * scanned, and are reported as estimates; a table without statistics falls back to
+ * {@code COUNT(*)} and is reported as exact. Disabled with {@code app.record-count.enabled=false}:
+ * every read then runs {@code COUNT(*)}.
+ */
+@Component
+public class RecordCounter {
+    public enum Mode {
+        EXACT,
+        ESTIMATED
+    }
+
+    private final MatchRepository matchRepository;
+    private final MatchOddsRepository matchOddsRepository;
+    private final TableStatistics tableStatistics;
+    private final boolean enabled;
+    private final Mode mode;
+    private final Map<Table, AtomicLong> counts = new EnumMap<>(Table.class);
+    private final Map<Table, AtomicBoolean> stale = new EnumMap<>(Table.class);
+    private final Map<Table, AtomicBoolean> exact = new EnumMap<>(Table.class);
+
+    public RecordCounter(
+            MatchRepository matchRepository,
+            MatchOddsRepository matchOddsRepository,
+            TableStatistics tableStatistics,
+            @Value("${app.record-count.enabled:true}") boolean enabled,
+            @Value("${app.record-count.mode:exact}") Mode mode
+    ) {
+        this.matchRepository = matchRepository;
+        this.matchOddsRepository = matchOddsRepository;
+        this.tableStatistics = tableStatistics;
+        this.enabled = enabled;
+        this.mode = mode;
+        for (Table table : Table.values()) {
+            counts.put(table, new AtomicLong());
+            stale.put(table, new AtomicBoolean(true));
+            exact.put(table, new AtomicBoolean(mode == Mode.EXACT));
+        }
+    }
+
+    /**
+     * Returns the number of records in {@code table}, counting it first if it is stale.
+     */
+    public RecordCount get(Table table) {
+        if (!enabled) {
+            return new RecordCount(countRows(table), true);
+        }
+        if (stale.get(table).get()) {
+            reconcileIfStale(table);
+        }
+        return new RecordCount(counts.get(table).get(), exact.get(table).get());
+    }
+
+    /**
+     * Moves the count of {@code table} by {@code delta} rows; call after the write has committed.
+     */
+    public void add(Table table, long delta) {
+        if (enabled && delta != 0) {
+            counts.get(table).addAndGet(delta);
+        }
+    }
+
+    /**
+     * Reconciles every count with the database.
+     */
+    @Scheduled(
+            initialDelayString = "${app.record-count.reconcile-interval:5m}",
+            fixedDelayString = "${app.record-count.reconcile-interval:5m}"
+    )
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        for (Table table : Table.values()) {
+            reconcile(table);
+        }
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    /**
+     * Checks the flag again under the lock, so readers that all found the table stale count it once.
+     */
+    private synchronized void reconcileIfStale(Table table) {
+        if (stale.get(table).get()) {
+            reconcile(table);
+        }
+    }
+
+    /**
+     * Applies the difference between the database and the count as it was before the query instead
+     * of overwriting the count, so deltas added while the query runs are not thrown away; a write in
+     * flight across the query can still be off by its own rows until the next reconcile.
+     */
+    private synchronized void reconcile(Table table) {
+        stale.get(table).set(false);
+        AtomicLong count = counts.get(table);
+        long before = count.get();
+        OptionalLong estimate = mode == Mode.ESTIMATED
+                ? tableStatistics.estimateRowCount(tableName(table))
+                : OptionalLong.empty();
+        long actual = estimate.isPresent() ? estimate.getAsLong() : countRows(table);
+        exact.get(table).set(estimate.isEmpty());
+        count.addAndGet(actual - before);
+    }
+
+    private long countRows(Table table) {
+        return switch (table) {
+            case MATCHES -> matchRepository.count();
+            case MATCH_ODDS -> matchOddsRepository.count();
+        };
+    }
+
+    private static String tableName(Table table) {
+        return switch (table) {
+            case MATCHES -> "matches";
+            case MATCH_ODDS -> "match_odds";
+        };
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,37 @@
+package com.example.matchmanagementapi.service;
+
+/**
+ * Last applied row version per odds ID, used by the in-memory odds structures to keep the newest
+ * write when commits are applied out of order. Deleted IDs are kept as tombstones, so a write
+ * that committed before the delete cannot bring the row back; they are dropped on the next reload.
+ * Not thread-safe; guarded by its owner.
+ */
+final class RowVersions {
+    private static final long MISSING = -1;
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final LongLongHashMap versions = new LongLongHashMap();
+
+    /**
+     * Records {@code version} for the row and returns true, unless a newer or equal version or the
+     * delete of the row was already applied. A row without a version is accepted unless deleted.
+     */
+    boolean accept(long id, Long version) {
+        long known = versions.get(id, MISSING);
+        if (known == DELETED || (version != null && version <= known)) {
+            return false;
+        }
+        if (version != null) {
+            versions.put(id, version);
+        }
+        return true;
+    }
+
+    void delete(long id) {
+        versions.put(id, DELETED);
+    }
+
+    void clear() {
+        versions.clear();
+    }
+}
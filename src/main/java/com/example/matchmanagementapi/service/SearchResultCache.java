@@ -0,0 +1,77 @@
+package com.example.matchmanagementapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches search results by their normalized query (filter record, sort, cursor, page size).
+ * Every table has a version counter that each committed write bumps; the current version
+ * is part of the cache key, so one increment makes all older results of that table
+ * unreachable and they simply age out by size ({@code app.cache.search.maximum-size})
+ * or TTL ({@code app.cache.search.ttl}). Hit and miss counts are published as the
+ * {@code cache.*} metrics with {@code cache=search}. Disabled with {@code app.cache.search.enabled=false}.
+ */
+@Component
+public class SearchResultCache {
+    public enum Table {
+        MATCHES,
+        MATCH_ODDS
+    }
+
+    private record Key(Table table, long version, Object query) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Key, Object> cache;
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+
+    public SearchResultCache(
+            @Value("${app.cache.search.enabled:true}") boolean enabled,
+            @Value("${app.cache.search.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.search.ttl:30s}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong());
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search");
+    }
+
+    /**
+     * Returns the cached result of {@code query} against the current version of {@code table},
+     * computing it with {@code loader} on a miss. The result must be immutable.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Table table, Object query, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(table, versions.get(table).get(), query);
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Invalidates every cached result of the given tables; call after the write has committed.
+     */
+    public void bump(Table... tables) {
+        for (Table table : tables) {
+            versions.get(table).incrementAndGet();
+        }
+    }
+}
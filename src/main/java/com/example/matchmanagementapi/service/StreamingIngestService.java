@@ -0,0 +1,97 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.IngestChunkResult;
+import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchMapper;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ingests NDJSON request bodies incrementally: values are parsed one at a time with
+ * Jackson's streaming parser, committed in chunks of {@code app.ingest.chunk-size}
+ * and each chunk's {@link IngestChunkResult} is written and flushed as soon as it
+ * completes. Memory use is bounded by the chunk size, not the request size.
+ */
+@Service
+@RequiredArgsConstructor
+public class StreamingIngestService {
+    private final MatchService matchService;
+    private final MatchOddsService matchOddsService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.ingest.chunk-size:1000}")
+    private int chunkSize;
+
+    public void ingestMatches(InputStream in, OutputStream out) throws IOException {
+        ingest(in, out, MatchDTO.class, dtos -> matchService.saveAll(MatchMapper.toEntity(dtos)).size());
+    }
+
+    public void ingestMatchOdds(InputStream in, OutputStream out) throws IOException {
+        ingest(in, out, MatchOddsDTO.class, dtos -> {
+            Map<Long, Match> matches = matchService.findAllById(dtos.stream().map(MatchOddsDTO::getMatchId).toList());
+            List<MatchOdds> odds = new ArrayList<>(dtos.size());
+            for (MatchOddsDTO dto : dtos) {
+                odds.add(MatchOddsMapper.toEntity(dto, matches.get(dto.getMatchId())));
+            }
+            return matchOddsService.saveAll(odds).size();
+        });
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private <D> void ingest(InputStream in, OutputStream out, Class<D> type, ToIntFunction<List<D>> writer) throws IOException {
+        List<D> chunk = new ArrayList<>(chunkSize);
+        int chunkNumber = 0;
+
+        try (MappingIterator<D> values = objectMapper.readerFor(type).readValues(in)) {
+            while (values.hasNextValue()) {
+                chunk.add(values.nextValue());
+                if (chunk.size() == chunkSize) {
+                    write(out, commit(++chunkNumber, chunk, writer));
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            if (!chunk.isEmpty()) {
+                write(out, commit(++chunkNumber, chunk, writer));
+            }
+            write(out, new IngestChunkResult(++chunkNumber, 0, 0, 0, "Invalid NDJSON: " + e.getOriginalMessage()));
+            return;
+        }
+
+        if (!chunk.isEmpty()) {
+            write(out, commit(++chunkNumber, chunk, writer));
+        }
+    }
+
+    private <D> IngestChunkResult commit(int chunkNumber, List<D> chunk, ToIntFunction<List<D>> writer) {
+        try {
+            int saved = writer.applyAsInt(chunk);
+            return new IngestChunkResult(chunkNumber, chunk.size(), saved, chunk.size() - saved, null);
+        } catch (RuntimeException e) {
+            return new IngestChunkResult(chunkNumber, chunk.size(), 0, 0, e.getMessage());
+        }
+    }
+
+    private void write(OutputStream out, IngestChunkResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+        out.flush();
+    }
+    // </editor-fold>
+}
@@ -5,6 +5,9 @@ import com.example.matchmanagementapi.domain.MatchOdds;
 import com.example.matchmanagementapi.domain.Sport;
 import com.example.matchmanagementapi.repository.MatchOddsRepository;
 import com.example.matchmanagementapi.repository.MatchRepository;
+import com.example.matchmanagementapi.service.OddsBook;
+import com.example.matchmanagementapi.service.OddsRangeIndex;
+import com.example.matchmanagementapi.service.RecordCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -34,10 +37,22 @@ public class Initializer {
     @Autowired
     private MatchOddsRepository matchOddsRepository;
 
+    @Autowired
+    private OddsBook oddsBook;
+
+    @Autowired
+    private OddsRangeIndex oddsRangeIndex;
+
+    @Autowired
+    private RecordCounter recordCounter;
+
     @BeforeEach
     public void setup(){
         matchOddsRepository.deleteAll();
         matchRepository.deleteAll();
+        oddsBook.rebuild();
+        oddsRangeIndex.rebuild();
+        recordCounter.reconcile();
 
         match = new Match(
                 description,
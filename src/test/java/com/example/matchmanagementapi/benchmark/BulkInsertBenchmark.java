@@ -0,0 +1,96 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Inserts 100k rows into H2 through the stateful, unbatched path (one INSERT per row,
+ * as with IDENTITY ids) and through the stateless batched writer, and prints rows/sec.
+ * Run with: mvn test -Pbenchmark -Dtest=BulkInsertBenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+public class BulkInsertBenchmark extends Initializer {
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private StatelessBulkWriter statelessBulkWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void insertMatches() {
+        measure("Match, stateful unbatched", this::newMatches, this::insertUnbatched);
+        setup();
+        measure("Match, stateless batched", this::newMatches, statelessBulkWriter::insertAll);
+    }
+
+    @Test
+    void insertMatchOdds() {
+        measure("MatchOdds, stateful unbatched", this::newOdds, this::insertUnbatched);
+        setup();
+        measure("MatchOdds, stateless batched", this::newOdds, statelessBulkWriter::insertAll);
+    }
+
+    private <T> void measure(String label, Supplier<List<T>> rows, Consumer<List<T>> insert) {
+        List<T> entities = rows.get();
+        long start = System.nanoTime();
+        insert.accept(entities);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-32s %,d rows in %.2fs -> %,.0f rows/sec%n", label, entities.size(), seconds, entities.size() / seconds);
+    }
+
+    private <T> void insertUnbatched(List<T> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            for (T entity : entities) {
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+        });
+    }
+
+    private List<Match> newMatches() {
+        List<Match> matches = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Match m = new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport);
+            m.refreshNaturalKey();
+            matches.add(m);
+        }
+        return matches;
+    }
+
+    private List<MatchOdds> newOdds() {
+        Match parent = transactionTemplate.execute(status -> {
+            Match m = new Match(description, testMatchDate, testMatchTime, teamA, teamB, testSport);
+            entityManager.persist(m);
+            return m;
+        });
+        List<MatchOdds> odds = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            odds.add(new MatchOdds(parent, "SP" + i, 1.0 + i));
+        }
+        return odds;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import com.example.matchmanagementapi.service.OddsBook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Loads 1M odds (20 per match) and reports the heap retained by the {@link OddsBook}
+ * after a full rebuild, then the latency of reading one match's odds from the book
+ * versus {@code MatchOddsRepository.findViewsByMatchId}.
+ * Run with: mvn test -Pbenchmark -Dtest=OddsBookBenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+public class OddsBookBenchmark extends Initializer {
+    private static final int MATCHES = 50_000;
+    private static final int ODDS_PER_MATCH = 20;
+    private static final int BATCH = 10_000;
+    private static final String[] SPECIFIERS = {"1", "X", "2", "1X", "X2", "12", "O2.5", "U2.5", "GG", "NG"};
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private OddsBook oddsBook;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private StatelessBulkWriter statelessBulkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void memoryAndReadLatency() {
+        long[] matchIds = load();
+
+        // Run the rebuild query once so the database page cache is not counted as book memory
+        jdbcTemplate.query("SELECT id, match_id, specifier, odd FROM match_odds ORDER BY match_id, id", rs -> {
+        });
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long usedBefore = usedHeapAfterGc(memory);
+        oddsBook.rebuild();
+        long retained = usedHeapAfterGc(memory) - usedBefore;
+        System.out.printf("OddsBook: %,d odds for %,d matches, %,d bytes retained (%.1f bytes/odd)%n",
+                oddsBook.size(), matchIds.length, retained, (double) retained / oddsBook.size());
+
+        measure("OddsBook.get", matchIds, 10, oddsBook::get);
+        measure("findViewsByMatchId", matchIds, 100, matchOddsRepository::findViewsByMatchId);
+    }
+
+    private long[] load() {
+        long[] matchIds = new long[MATCHES];
+        for (int from = 0; from < MATCHES; from += BATCH) {
+            List<Match> matches = new ArrayList<>(BATCH);
+            for (int i = from; i < from + BATCH; i++) {
+                Match m = new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport);
+                m.refreshNaturalKey();
+                matches.add(m);
+            }
+            statelessBulkWriter.insertAll(matches);
+
+            List<MatchOdds> odds = new ArrayList<>(BATCH * ODDS_PER_MATCH);
+            for (int i = 0; i < matches.size(); i++) {
+                Match m = matches.get(i);
+                matchIds[from + i] = m.getId();
+                for (int j = 0; j < ODDS_PER_MATCH; j++) {
+                    odds.add(new MatchOdds(m, SPECIFIERS[j % SPECIFIERS.length], 1.0 + j * 0.05));
+                }
+            }
+            statelessBulkWriter.insertAll(odds);
+        }
+        return matchIds;
+    }
+
+    private void measure(String label, long[] matchIds, int divisor, LongFunction<List<?>> read) {
+        SplittableRandom random = new SplittableRandom(42);
+        int warmup = WARMUP / divisor;
+        int iterations = ITERATIONS / divisor;
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += read.apply(matchIds[random.nextInt(matchIds.length)]).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += read.apply(matchIds[random.nextInt(matchIds.length)]).size();
+        }
+        double nanos = (double) (System.nanoTime() - start) / iterations;
+
+        System.out.printf("%-24s %,12.0f ns/read  (%d rows read)%n", label, nanos, sink);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
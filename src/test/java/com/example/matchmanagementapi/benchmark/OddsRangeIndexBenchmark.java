@@ -0,0 +1,113 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import com.example.matchmanagementapi.service.MatchOddsService;
+import com.example.matchmanagementapi.service.MatchOddsSort;
+import com.example.matchmanagementapi.service.OddsRangeIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleFunction;
+
+/**
+ * Loads 1M odds over 10 specifiers and compares "specifier = X and odd > bound" pages of 100
+ * rows served by the {@link OddsRangeIndex} against the same query on match_odds, for both
+ * orderings; bounds are random so the search result cache never hits.
+ * Run with: mvn test -Pbenchmark -Dtest=OddsRangeIndexBenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+public class OddsRangeIndexBenchmark extends Initializer {
+    private static final int MATCHES = 50_000;
+    private static final int ODDS_PER_MATCH = 20;
+    private static final int BATCH = 10_000;
+    private static final String[] SPECIFIERS = {"1", "X", "2", "1X", "X2", "12", "O2.5", "U2.5", "GG", "NG"};
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired
+    private OddsRangeIndex oddsRangeIndex;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private StatelessBulkWriter statelessBulkWriter;
+
+    @Test
+    void rangeSearch() {
+        load();
+        oddsRangeIndex.rebuild();
+
+        for (MatchOddsSort sort : MatchOddsSort.values()) {
+            measure("OddsRangeIndex, sort=" + sort, 1, bound -> matchOddsService.searchMatchOdds(
+                    new MatchOddsFilter("X", null, bound, null, null), sort, null, PAGE_SIZE).items());
+
+            Sort order = sort == MatchOddsSort.ODD ? Sort.by("odd", "id") : Sort.by("id");
+            measure("match_odds query, sort=" + sort, 100, bound -> {
+                Specification<MatchOdds> spec = (root, query, cb) -> cb.and(
+                        cb.equal(root.get("specifier"), "X"),
+                        cb.greaterThan(root.get("odd"), bound));
+                return matchOddsRepository.findViews(spec, order, PAGE_SIZE + 1);
+            });
+        }
+    }
+
+    private void load() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int from = 0; from < MATCHES; from += BATCH) {
+            List<Match> matches = new ArrayList<>(BATCH);
+            for (int i = from; i < from + BATCH; i++) {
+                Match m = new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport);
+                m.refreshNaturalKey();
+                matches.add(m);
+            }
+            statelessBulkWriter.insertAll(matches);
+
+            List<MatchOdds> odds = new ArrayList<>(BATCH * ODDS_PER_MATCH);
+            for (Match m : matches) {
+                for (int j = 0; j < ODDS_PER_MATCH; j++) {
+                    double odd = 1.0 + j * 0.5 + random.nextInt(50) / 100.0;
+                    odds.add(new MatchOdds(m, SPECIFIERS[j % SPECIFIERS.length], odd));
+                }
+            }
+            statelessBulkWriter.insertAll(odds);
+        }
+    }
+
+    private void measure(String label, int divisor, DoubleFunction<List<?>> search) {
+        SplittableRandom random = new SplittableRandom(7);
+        int warmup = WARMUP / divisor;
+        int iterations = ITERATIONS / divisor;
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += search.apply(1.0 + random.nextDouble() * 8).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += search.apply(1.0 + random.nextDouble() * 8).size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / iterations;
+
+        System.out.printf("%-36s %,12.1f us/page  (%d rows read)%n", label, micros, sink);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import com.example.matchmanagementapi.dto.MatchView;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings offered by content negotiation (JSON, Smile, CBOR, protobuf) on a
+ * 1000-row odds list and a 1000-row match page: payload size, gzipped size, and the time to
+ * encode the views a GET returns and to decode the DTOs a batch POST reads.
+ * The Jackson mappers are built the way Spring MVC builds its message converters.
+ * Run with: mvn test -Pbenchmark -Dtest=PayloadEncodingBenchmark
+ */
+@Tag("benchmark")
+public class PayloadEncodingBenchmark {
+    private static final int ROWS = 1000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+    private static final String[] SPECIFIERS = {"1", "X", "2", "1X", "X2", "12", "O2.5", "U2.5", "GG", "NG"};
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+    private interface Encoder {
+        byte[] encode() throws IOException;
+    }
+
+    private interface Decoder {
+        Object decode(byte[] payload) throws IOException;
+    }
+
+    @Test
+    void oddsList() throws Exception {
+        List<MatchOddsView> odds = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            odds.add(new MatchOddsView(1_000_000L + i, 40_000L + i / 10, SPECIFIERS[i % SPECIFIERS.length], 1.01 + (i % 400) * 0.05));
+        }
+        TypeReference<List<MatchOddsDTO>> type = new TypeReference<>() {
+        };
+
+        System.out.println("Odds list, " + ROWS + " rows");
+        measure("JSON", () -> json.writeValueAsBytes(odds), payload -> json.readValue(payload, type));
+        measure("Smile", () -> smile.writeValueAsBytes(odds), payload -> smile.readValue(payload, type));
+        measure("CBOR", () -> cbor.writeValueAsBytes(odds), payload -> cbor.readValue(payload, type));
+        measure("Protobuf", () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MatchProtobufCodec.writeOddsList(odds, out);
+            return out.toByteArray();
+        }, payload -> MatchProtobufCodec.readOddsList(new ByteArrayInputStream(payload)));
+    }
+
+    @Test
+    void matchPage() throws Exception {
+        List<MatchView> matches = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            matches.add(new MatchView(40_000L + i, "TEAM" + i + "-OPPONENT" + i, LocalDate.of(2025, 8, 1).plusDays(i % 90),
+                    LocalTime.of(12 + i % 10, (i % 4) * 15), "TEAM" + i, "OPPONENT" + i,
+                    i % 3 == 0 ? Sport.Basketball : Sport.Football));
+        }
+        TypeReference<List<MatchDTO>> type = new TypeReference<>() {
+        };
+
+        System.out.println("Match page, " + ROWS + " rows");
+        measure("JSON", () -> json.writeValueAsBytes(matches), payload -> json.readValue(payload, type));
+        measure("Smile", () -> smile.writeValueAsBytes(matches), payload -> smile.readValue(payload, type));
+        measure("CBOR", () -> cbor.writeValueAsBytes(matches), payload -> cbor.readValue(payload, type));
+        measure("Protobuf", () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MatchProtobufCodec.writeMatches(matches, out);
+            return out.toByteArray();
+        }, payload -> MatchProtobufCodec.readMatches(new ByteArrayInputStream(payload)));
+    }
+
+    private void measure(String label, Encoder encoder, Decoder decoder) throws IOException {
+        byte[] payload = encoder.encode();
+        for (int i = 0; i < WARMUP; i++) {
+            decoder.decode(encoder.encode());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoder.encode();
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decoder.decode(payload);
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+
+        System.out.printf("  %-10s %,9d bytes  %,8d gzipped  encode %,8.1f us  decode %,8.1f us%n",
+                label, payload.length, gzipped(payload), encodeMicros, decodeMicros);
+    }
+
+    private static int gzipped(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
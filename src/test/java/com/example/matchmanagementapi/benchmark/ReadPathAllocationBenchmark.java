@@ -0,0 +1,119 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchMapper;
+import com.example.matchmanagementapi.dto.MatchOddsMapper;
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.MatchRepository;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import com.example.matchmanagementapi.service.MatchOddsService;
+import com.example.matchmanagementapi.service.MatchService;
+import com.example.matchmanagementapi.service.MatchSort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares heap allocated per read request (query + JSON serialization) between the
+ * entity + mapper path and the record projection path, for a 1000-row match page and
+ * the odds of one match. Uses the per-thread allocation counter of the JVM.
+ * Run with: mvn test -Pbenchmark -Dtest=ReadPathAllocationBenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+public class ReadPathAllocationBenchmark extends Initializer {
+    private static final int ROWS = 10_000;
+    private static final int PAGE_SIZE = 1000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private StatelessBulkWriter statelessBulkWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void searchMatchesPage() throws Exception {
+        List<Match> matches = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Match m = new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport);
+            m.refreshNaturalKey();
+            matches.add(m);
+        }
+        statelessBulkWriter.insertAll(matches);
+
+        MatchFilter filter = new MatchFilter(null, null, null, testSport, null, null, null, null, null, null);
+        Specification<Match> bySport = (root, query, cb) -> cb.equal(root.get("sport"), testSport);
+        measure("searchMatches, entity + mapper", () -> {
+            List<Match> page = matchRepository.findBy(bySport, query -> query.sortBy(Sort.by("id")).limit(PAGE_SIZE + 1).all());
+            return json(MatchMapper.toDTO(page));
+        });
+        measure("searchMatches, record projection", () -> json(
+                matchService.searchMatches(filter, MatchSort.ID, null, PAGE_SIZE).items()));
+    }
+
+    @Test
+    void getOddsForMatch() throws Exception {
+        Match parent = matchService.save(match);
+        List<MatchOdds> odds = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            odds.add(new MatchOdds(parent, "SP" + i, 1.0 + i));
+        }
+        statelessBulkWriter.insertAll(odds);
+
+        measure("getOddsForMatch, entity + mapper", () -> json(MatchOddsMapper.toDTO(
+                matchOddsRepository.findByMatchId(parent.getId()))));
+        measure("getOddsForMatch, record projection", () -> json(
+                matchOddsService.getOddsViewsForMatch(parent.getId())));
+    }
+
+    private void measure(String label, Callable<byte[]> request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request.call();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.call();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        long bytesPerRequest = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / ITERATIONS;
+
+        System.out.printf("%-36s %,12d bytes/request  %.2f ms/request%n", label, bytesPerRequest, millis);
+    }
+
+    private byte[] json(Object body) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
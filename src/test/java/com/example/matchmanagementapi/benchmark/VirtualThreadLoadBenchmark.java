@@ -0,0 +1,254 @@
+package com.example.matchmanagementapi.benchmark;
+
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.repository.StatelessBulkWriter;
+import com.example.matchmanagementapi.service.OddsBook;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed-burst load against the running server, once on Tomcat's platform-thread pool and once with
+ * {@code spring.threads.virtual.enabled=true}, reporting throughput, p50/p99 latency and the
+ * mean wait at the repository concurrency limiter.
+ * <p>
+ * {@value #CLIENTS} concurrent clients each send {@value #REQUESTS_PER_CLIENT} requests. Every
+ * {@value #DB_EVERY}th request is a match lookup read from the database, the rest read a match's
+ * odds from the in-memory odds book. Each JDBC statement is delayed by
+ * {@value #DB_LATENCY_MILLIS} ms to stand in for the network round trip to PostgreSQL, and the
+ * connection pool and limiter are both 10 wide. Client and server share the machine.
+ * Run with: mvn test -Pbenchmark -Dtest=VirtualThreadLoadBenchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@Import(VirtualThreadLoadBenchmark.DatabaseLatencyConfig.class)
+@TestPropertySource(properties = {
+        "app.db.limiter.max-concurrency=10",
+        "spring.datasource.hikari.maximum-pool-size=10"
+})
+public class VirtualThreadLoadBenchmark {
+    private static final int MATCHES = 2_000;
+    private static final int ODDS_PER_MATCH = 10;
+    private static final int CLIENTS = 500;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 20;
+    private static final int DB_EVERY = 5;
+    private static final long DB_LATENCY_MILLIS = 2;
+
+    @Nested
+    @DirtiesContext
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads {
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private StatelessBulkWriter statelessBulkWriter;
+
+        @Autowired
+        private OddsBook oddsBook;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void throughputAndLatency() throws Exception {
+            run("platform threads", port, statelessBulkWriter, oddsBook, meterRegistry);
+        }
+    }
+
+    @Nested
+    @DirtiesContext
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads {
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private StatelessBulkWriter statelessBulkWriter;
+
+        @Autowired
+        private OddsBook oddsBook;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void throughputAndLatency() throws Exception {
+            run("virtual threads", port, statelessBulkWriter, oddsBook, meterRegistry);
+        }
+    }
+
+    @TestConfiguration
+    static class DatabaseLatencyConfig {
+        /**
+         * Delays every statement execution, outside the driver, by DB_LATENCY_MILLIS.
+         */
+        @Bean
+        static BeanPostProcessor databaseLatency() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static void run(String label, int port, StatelessBulkWriter writer, OddsBook oddsBook,
+                            MeterRegistry meterRegistry) throws Exception {
+        long[] matchIds = load(writer);
+        oddsBook.rebuild();
+        String base = "http://localhost:" + port + "/api/matches/";
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            drive(client, base, matchIds, WARMUP_REQUESTS_PER_CLIENT);
+            Timer limiterWait = meterRegistry.get("db.limiter.wait").timer();
+            long waitsBefore = limiterWait.count();
+            double waitedBefore = limiterWait.totalTime(TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            long[] latencies = drive(client, base, matchIds, REQUESTS_PER_CLIENT);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            double meanWait = (limiterWait.totalTime(TimeUnit.MILLISECONDS) - waitedBefore) / (limiterWait.count() - waitsBefore);
+            System.out.printf("%-16s %,9.0f req/s  p50 %,7.2f ms  p99 %,8.2f ms  limiter: %,d calls, mean wait %,7.2f ms%n",
+                    label, latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    limiterWait.count() - waitsBefore, meanWait);
+        }
+    }
+
+    private static long[] drive(HttpClient client, String base, long[] matchIds, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                running.add(clients.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(clientIndex);
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long matchId = matchIds[random.nextInt(matchIds.length)];
+                        String path = (clientIndex + i) % DB_EVERY == 0 ? String.valueOf(matchId) : matchId + "/odds";
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + path)).GET().build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[clientIndex * requestsPerClient + i] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+        }
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " requests failed");
+        }
+        return latencies;
+    }
+
+    private static long[] load(StatelessBulkWriter writer) {
+        List<Match> matches = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            Match m = new Match("T" + i + "-U" + i, LocalDate.of(2021, 3, 31), LocalTime.NOON, "T" + i, "U" + i, Sport.Football);
+            m.refreshNaturalKey();
+            matches.add(m);
+        }
+        writer.insertAll(matches);
+
+        List<MatchOdds> odds = new ArrayList<>(MATCHES * ODDS_PER_MATCH);
+        long[] matchIds = new long[MATCHES];
+        for (int i = 0; i < MATCHES; i++) {
+            matchIds[i] = matches.get(i).getId();
+            for (int j = 0; j < ODDS_PER_MATCH; j++) {
+                odds.add(new MatchOdds(matches.get(i), "S" + j, 1.0 + j * 0.1));
+            }
+        }
+        writer.insertAll(odds);
+        return matchIds;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        return sortedNanos[(int) Math.ceil(percentile * sortedNanos.length) - 1] / 1e6;
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return result instanceof PreparedStatement statement && method.getName().startsWith("prepare")
+                                ? slow(statement) : result;
+                    });
+        }
+
+        private static PreparedStatement slow(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(SlowDataSource.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(DB_LATENCY_MILLIS);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
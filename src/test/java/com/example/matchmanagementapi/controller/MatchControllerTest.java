@@ -3,8 +3,21 @@ package com.example.matchmanagementapi.controller;
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.Sport;
 import com.example.matchmanagementapi.dto.MatchDTO;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import com.example.matchmanagementapi.dto.MatchView;
+import com.example.matchmanagementapi.service.KeysetPage;
 import com.example.matchmanagementapi.service.MatchOddsService;
 import com.example.matchmanagementapi.service.MatchService;
+import com.example.matchmanagementapi.service.MatchSort;
+import com.example.matchmanagementapi.service.OddsStreamService;
+import com.example.matchmanagementapi.service.RecordCount;
+import com.example.matchmanagementapi.service.StreamingIngestService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +27,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.OptionalLong;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +50,15 @@ class MatchControllerTest {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private StreamingIngestService streamingIngestService;
+
+    @Autowired
+    private OddsStreamService oddsStreamService;
+
     @TestConfiguration
     static class MockConfig {
 
@@ -44,6 +71,16 @@ class MatchControllerTest {
         public MatchOddsService matchOddsService() {
             return Mockito.mock(MatchOddsService.class);
         }
+
+        @Bean
+        public StreamingIngestService streamingIngestService() {
+            return Mockito.mock(StreamingIngestService.class);
+        }
+
+        @Bean
+        public OddsStreamService oddsStreamService() {
+            return Mockito.mock(OddsStreamService.class);
+        }
     }
 
     private final Match match = new Match(
@@ -55,6 +92,16 @@ class MatchControllerTest {
             Sport.Football
     );
 
+    private final MatchView matchView = new MatchView(
+            1L,
+            "OSFP-PAO",
+            LocalDate.of(2025, 8, 1),
+            LocalTime.of(20, 0),
+            "OSFP",
+            "PAO",
+            Sport.Football
+    );
+
     private final MatchDTO matchDTO = new MatchDTO();
     {
         matchDTO.setId(1L);
@@ -68,22 +115,121 @@ class MatchControllerTest {
 
     @Test
     void getMatchById_ReturnsMatch() throws Exception {
-        Mockito.when(matchService.find(1L)).thenReturn(match);
+        Mockito.when(matchService.findView(1L)).thenReturn(new MatchView(
+                1L, "OSFP-PAO", LocalDate.of(2025, 8, 1), LocalTime.of(20, 0), "OSFP", "PAO", Sport.Football, 3L));
 
         mockMvc.perform(get("/api/matches/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.description").value("OSFP-PAO"));
+                .andExpect(header().string("ETag", "\"3-json\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("Cache-Control", "max-age=3600"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.description").value("OSFP-PAO"))
+                .andExpect(jsonPath("$.matchDate").value("2025-08-01"))
+                .andExpect(jsonPath("$.matchTime").value("20:00:00"))
+                .andExpect(jsonPath("$.sport").value("Football"));
+    }
+
+    @Test
+    void getMatchById_NotModifiedServedFromCachedVersion() throws Exception {
+        Match upcoming = new Match("AEK-ARIS", LocalDate.now().plusDays(7), LocalTime.of(21, 0), "AEK", "ARIS", Sport.Football);
+        upcoming.setId(2L);
+        upcoming.setVersion(5L);
+        Mockito.when(matchService.find(2L)).thenReturn(upcoming);
+
+        mockMvc.perform(get("/api/matches/2").header("If-None-Match", "\"4-json\", \"5-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"5-json\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+        Mockito.verify(matchService, Mockito.never()).findView(2L);
+    }
+
+    @Test
+    void getOddsForMatch_NotModifiedWhenVersionUnchanged() throws Exception {
+        Mockito.when(matchOddsService.getOddsVersion(2L)).thenReturn(OptionalLong.of(42L));
+        Mockito.when(matchOddsService.getOddsViewsForMatch(2L))
+                .thenReturn(List.of(new MatchOddsView(8L, 2L, "1", 1.9)));
+
+        mockMvc.perform(get("/api/matches/2/odds").header("If-None-Match", "W/\"42-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42-json\""));
+        Mockito.verify(matchOddsService, Mockito.never()).getOddsViewsForMatch(2L);
+
+        mockMvc.perform(get("/api/matches/2/odds").header("If-None-Match", "\"41-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42-json\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$[0].id").value(8));
+    }
+
+    @Test
+    void getOddsForMatch_EtagPerEncoding() throws Exception {
+        Mockito.when(matchOddsService.getOddsVersion(4L)).thenReturn(OptionalLong.of(7L));
+        Mockito.when(matchOddsService.getOddsViewsForMatch(4L))
+                .thenReturn(List.of(new MatchOddsView(9L, 4L, "2", 2.4)));
+
+        mockMvc.perform(get("/api/matches/4/odds").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7-json\""))
+                .andExpect(header().string("Vary", "Accept"));
+        mockMvc.perform(get("/api/matches/4/odds").accept(MatchProtobufCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MatchProtobufCodec.MEDIA_TYPE))
+                .andExpect(header().string("ETag", "\"7-x-protobuf\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        // The JSON ETag does not revalidate a CBOR copy the client never fetched
+        mockMvc.perform(get("/api/matches/4/odds").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"7-json\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"7-cbor\""));
+    }
+
+    @Test
+    void getOddsForMatch_ReturnsOdds() throws Exception {
+        Mockito.when(matchOddsService.getOddsViewsForMatch(1L))
+                .thenReturn(List.of(new MatchOddsView(7L, 1L, "X", 3.1)));
+
+        mockMvc.perform(get("/api/matches/1/odds"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].matchId").value(1))
+                .andExpect(jsonPath("$[0].specifier").value("X"))
+                .andExpect(jsonPath("$[0].odd").value(3.1));
+    }
+
+    @Test
+    void streamOddsForMatches_SubscribesToAllIds() throws Exception {
+        Mockito.when(oddsStreamService.subscribe(List.of(1L, 2L))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/matches/odds/stream?ids=1,2").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
     }
 
     @Test
     void getCount_ReturnsNumber() throws Exception {
-        Mockito.when(matchService.getRecordsCount()).thenReturn(5L);
+        Mockito.when(matchService.countMatches(new MatchFilter(null, null, null, null,
+                null, null, null, null, null, null))).thenReturn(new RecordCount(5L, true));
 
         mockMvc.perform(get("/api/matches/count"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(RecordCount.ACCURACY_HEADER, "exact"))
                 .andExpect(content().string("5"));
     }
 
+    @Test
+    void getCount_BindsSearchFilters() throws Exception {
+        Mockito.when(matchService.countMatches(new MatchFilter(null, "OSFP", null, Sport.Basketball,
+                null, null, LocalDate.of(2025, 8, 1), null, null, null))).thenReturn(new RecordCount(3L, true));
+
+        mockMvc.perform(get("/api/matches/count?teamA=OSFP&sport=Basketball&matchDateAfter=2025-08-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RecordCount.ACCURACY_HEADER, "exact"))
+                .andExpect(content().string("3"));
+    }
+
     @Test
     void deleteById_DeletesMatch() throws Exception {
         mockMvc.perform(delete("/api/matches/1"))
@@ -98,6 +244,16 @@ class MatchControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void deleteByFilter_DeletesMatching() throws Exception {
+        Mockito.when(matchService.deleteMatches(new MatchFilter(null, null, null, null,
+                null, LocalDate.of(2025, 1, 1), null, null, null, null))).thenReturn(4);
+
+        mockMvc.perform(delete("/api/matches?matchDateBefore=2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("4"));
+    }
+
     @Test
     void patchMatch_UpdatesField() throws Exception {
         Match patched = new Match(
@@ -120,19 +276,36 @@ class MatchControllerTest {
 
     @Test
     void searchMatches_ReturnsFilteredList() throws Exception {
-        Mockito.when(matchService.searchMatches(
-                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
-                Mockito.any(), Mockito.any(), Mockito.any(),
-                Mockito.any(), Mockito.any(), Mockito.any()
-        )).thenReturn(List.of(match));
+        MatchFilter filter = new MatchFilter(null, "OSFP", "PAO", null, null, null, null, null, null, null);
+        Mockito.when(matchService.searchMatches(filter, null, null, null))
+                .thenReturn(new KeysetPage<>(List.of(matchView), null));
 
         mockMvc.perform(get("/api/matches")
                         .param("teamA", "OSFP")
                         .param("teamB", "PAO"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].description").value("OSFP-PAO"));
     }
 
+    @Test
+    void searchMatches_ReturnsNextCursorHeader() throws Exception {
+        MatchFilter filter = new MatchFilter(null, null, null, Sport.Football, LocalDate.of(2025, 8, 1),
+                null, null, null, null, null);
+        Mockito.when(matchService.searchMatches(filter, MatchSort.ID, "abc", 1))
+                .thenReturn(new KeysetPage<>(List.of(matchView), "next"));
+
+        mockMvc.perform(get("/api/matches")
+                        .param("sport", "Football")
+                        .param("matchDate", "2025-08-01")
+                        .param("sort", "ID")
+                        .param("cursor", "abc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     void saveMatch_SingleInsert_ReturnsSavedMatch() throws Exception {
         Mockito.when(matchService.save(Mockito.any(Match.class))).thenReturn(match);
@@ -179,6 +352,47 @@ class MatchControllerTest {
                 .andExpect(jsonPath("$[0].description").value("OSFP-PAO"));
     }
 
+    @Test
+    void saveMatch_ProtobufBatch_AnsweredInSmile() throws Exception {
+        Mockito.when(matchService.saveAll(Mockito.anyList())).thenReturn(List.of(match));
+        MatchDTO sent = new MatchDTO();
+        sent.setDescription("OSFP-PAO");
+        sent.setMatchDate(LocalDate.of(2025, 8, 1));
+        sent.setMatchTime(LocalTime.of(20, 0));
+        sent.setTeamA("OSFP");
+        sent.setTeamB("PAO");
+        sent.setSport(Sport.Football);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeMatches(List.of(sent), body);
+
+        byte[] response = mockMvc.perform(post("/api/matches")
+                        .contentType(MatchProtobufCodec.MEDIA_TYPE)
+                        .accept("application/x-jackson-smile")
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MatchDTO> saved = SmileMapper.builder().findAndAddModules().build().readValue(response, new TypeReference<>() {
+        });
+        Assertions.assertEquals(List.of(sent), saved);
+    }
+
+    @Test
+    void getOddsForMatch_Protobuf() throws Exception {
+        Mockito.when(matchOddsService.getOddsViewsForMatch(3L))
+                .thenReturn(List.of(new MatchOddsView(9L, 3L, "1", 1.8), new MatchOddsView(10L, 3L, "X", 3.4)));
+
+        byte[] response = mockMvc.perform(get("/api/matches/3/odds").accept(MatchProtobufCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MatchProtobufCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MatchOddsDTO> odds = MatchProtobufCodec.readOddsList(new ByteArrayInputStream(response));
+        Assertions.assertEquals(List.of(9L, 10L), odds.stream().map(MatchOddsDTO::getId).toList());
+        Assertions.assertEquals(3.4, odds.get(1).getOdd());
+    }
+
     @Test
     void updateMatch_UpdatesAndReturnsMatch() throws Exception {
         Mockito.when(matchService.update(Mockito.eq(1L), Mockito.any(Match.class))).thenReturn(match);
@@ -201,4 +415,19 @@ class MatchControllerTest {
                 .andExpect(jsonPath("$.description").value("OSFP-PAO"));
     }
 
+    @Test
+    void saveMatch_Ndjson_StreamsChunkResults() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"chunk\":1,\"received\":1,\"saved\":1,\"skipped\":0}\n".getBytes());
+            return null;
+        }).when(streamingIngestService).ingestMatches(Mockito.any(), Mockito.any());
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"teamA\":\"OSFP\",\"teamB\":\"PAO\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.saved").value(1));
+    }
 }
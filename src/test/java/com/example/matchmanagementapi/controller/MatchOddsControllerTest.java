@@ -3,9 +3,23 @@ package com.example.matchmanagementapi.controller;
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.MatchOdds;
 import com.example.matchmanagementapi.dto.MatchOddsDTO;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.MatchProtobufCodec;
+import com.example.matchmanagementapi.dto.OddsCompareAndSet;
+import com.example.matchmanagementapi.dto.OddsHistoryPoint;
+import com.example.matchmanagementapi.dto.OddsRepriceItem;
+import com.example.matchmanagementapi.dto.OddsRepriceResult;
+import com.example.matchmanagementapi.service.KeysetPage;
 import com.example.matchmanagementapi.service.MatchOddsService;
 import com.example.matchmanagementapi.service.MatchService;
+import com.example.matchmanagementapi.service.OddsHistoryService;
+import com.example.matchmanagementapi.service.RecordCount;
+import com.example.matchmanagementapi.service.StreamingIngestService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +30,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +54,12 @@ class MatchOddsControllerTest {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private StreamingIngestService streamingIngestService;
+
+    @Autowired
+    private OddsHistoryService oddsHistoryService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,20 +76,25 @@ class MatchOddsControllerTest {
             return Mockito.mock(MatchService.class);
         }
 
+        @Bean
+        public StreamingIngestService streamingIngestService() {
+            return Mockito.mock(StreamingIngestService.class);
+        }
+
+        @Bean
+        public OddsHistoryService oddsHistoryService() {
+            return Mockito.mock(OddsHistoryService.class);
+        }
+
         @Bean
         public ObjectMapper objectMapper() {
-            return new ObjectMapper();
+            return new ObjectMapper().findAndRegisterModules();
         }
     }
 
     @Test
     void testGetMatchOddsById() throws Exception {
-        Match match = new Match();
-        match.setId(1L);
-        MatchOdds odds = new MatchOdds(match, "1", 2.5);
-        odds.setId(10L);
-
-        when(matchOddsService.find(10L)).thenReturn(odds);
+        when(matchOddsService.findView(10L)).thenReturn(new MatchOddsView(10L, 1L, "1", 2.5));
 
         mockMvc.perform(get("/api/matchOdds/10"))
                 .andExpect(status().isOk())
@@ -75,6 +104,31 @@ class MatchOddsControllerTest {
                 .andExpect(jsonPath("$.odd").value(2.5));
     }
 
+    @Test
+    void testGetMatchOddsById_Protobuf() throws Exception {
+        when(matchOddsService.findView(11L)).thenReturn(new MatchOddsView(11L, 1L, "X", 3.3, 2L));
+
+        byte[] response = mockMvc.perform(get("/api/matchOdds/11").accept(MatchProtobufCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MatchProtobufCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MatchOddsDTO odds = MatchProtobufCodec.readOdds(new ByteArrayInputStream(response));
+        Assertions.assertEquals(11L, odds.getId());
+        Assertions.assertEquals("X", odds.getSpecifier());
+        Assertions.assertEquals(2L, odds.getVersion());
+    }
+
+    @Test
+    void testGetOddAt() throws Exception {
+        Instant time = Instant.parse("2025-08-01T20:15:00Z");
+        when(oddsHistoryService.getOddAt(10L, time)).thenReturn(new OddsHistoryPoint(time.minusSeconds(60), 2.4));
+
+        mockMvc.perform(get("/api/matchOdds/10/history/at?time=2025-08-01T20:15:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.odd").value(2.4));
+    }
+
     @Test
     void testSaveSingleMatchOdds() throws Exception {
         Match match = new Match();
@@ -122,6 +176,58 @@ class MatchOddsControllerTest {
                 .andExpect(jsonPath("$.odd").value(2.9));
     }
 
+    @Test
+    void testPatchMatchOdds_writeBehindIsAccepted() throws Exception {
+        Map<String, Object> patch = Map.of("odd", 2.9);
+        when(matchOddsService.isWriteBehindEnabled()).thenReturn(true);
+        try {
+            mockMvc.perform(patch("/api/matchOdds/7")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(patch)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(content().string(""));
+
+            verify(matchOddsService).enqueuePartialUpdate(7L, patch);
+        } finally {
+            when(matchOddsService.isWriteBehindEnabled()).thenReturn(false);
+        }
+    }
+
+    @Test
+    void testCompareAndSetOdd() throws Exception {
+        OddsCompareAndSet request = new OddsCompareAndSet(2.6, 3L, null);
+        when(matchOddsService.compareAndSetOdd(7L, request)).thenReturn(new MatchOddsView(7L, 5L, "1", 2.6, 4L));
+
+        mockMvc.perform(patch("/api/matchOdds/7/odd")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.odd").value(2.6))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testRepriceBatch() throws Exception {
+        List<OddsRepriceItem> items = List.of(
+                new OddsRepriceItem(7L, null, null, 2.9),
+                new OddsRepriceItem(null, 5L, "X", 3.4)
+        );
+        when(matchOddsService.reprice(items)).thenReturn(List.of(
+                new OddsRepriceResult(0, 7L, OddsRepriceResult.Status.UPDATED, null),
+                new OddsRepriceResult(1, null, OddsRepriceResult.Status.NOT_FOUND, "Match odds not found.")
+        ));
+
+        mockMvc.perform(patch("/api/matchOdds/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[0].message").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+    }
+
     @Test
     void testDeleteMatchOddsById() throws Exception {
         doNothing().when(matchOddsService).deleteById(12L);
@@ -132,22 +238,32 @@ class MatchOddsControllerTest {
 
     @Test
     void testGetMatchOddsCount() throws Exception {
-        when(matchOddsService.getRecordsCount()).thenReturn(42L);
+        when(matchOddsService.countMatchOdds(new MatchOddsFilter(null, null, null, null, null)))
+                .thenReturn(new RecordCount(42L, false));
 
         mockMvc.perform(get("/api/matchOdds/count"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(RecordCount.ACCURACY_HEADER, "estimated"))
                 .andExpect(content().string("42"));
     }
 
     @Test
-    void testSearchMatchOdds() throws Exception {
-        Match match = new Match();
-        match.setId(5L);
+    void testGetMatchOddsCount_filtered() throws Exception {
+        when(matchOddsService.countMatchOdds(new MatchOddsFilter("1", null, 2.0, null, 5L)))
+                .thenReturn(new RecordCount(7L, true));
+
+        mockMvc.perform(get("/api/matchOdds/count?specifier=1&oddOver=2.0&matchId=5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RecordCount.ACCURACY_HEADER, "exact"))
+                .andExpect(content().string("7"));
+    }
 
-        MatchOdds odds = new MatchOdds(match, "X", 3.3);
-        odds.setId(20L);
+    @Test
+    void testSearchMatchOdds() throws Exception {
+        MatchOddsView odds = new MatchOddsView(20L, 5L, "X", 3.3);
 
-        when(matchOddsService.searchMatchOdds("X", null, null, null, 5L)).thenReturn(List.of(odds));
+        when(matchOddsService.searchMatchOdds(new MatchOddsFilter("X", null, null, null, 5L), null, null, null))
+                .thenReturn(new KeysetPage<>(List.of(odds), null));
 
         mockMvc.perform(get("/api/matchOdds?specifier=X&matchId=5"))
                 .andExpect(status().isOk())
@@ -178,7 +294,7 @@ class MatchOddsControllerTest {
         MatchOdds saved2 = new MatchOdds(match, "X", 3.5);
         saved2.setId(102L);
 
-        when(matchService.find(5L)).thenReturn(match);
+        when(matchService.findAllById(anyCollection())).thenReturn(Map.of(5L, match));
         when(matchOddsService.saveAll(anyList())).thenReturn(List.of(saved1, saved2));
 
         mockMvc.perform(post("/api/matchOdds/batch")
@@ -191,6 +307,36 @@ class MatchOddsControllerTest {
                 .andExpect(jsonPath("$[1].specifier").value("X"));
     }
 
+    @Test
+    void testSaveBatch_ProtobufInCborOut() throws Exception {
+        Match match = new Match();
+        match.setId(6L);
+        MatchOddsDTO dto = new MatchOddsDTO();
+        dto.setMatchId(6L);
+        dto.setSpecifier("2");
+        dto.setOdd(4.2);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeOddsList(List.of(dto), body);
+
+        when(matchService.findAllById(anyCollection())).thenReturn(Map.of(6L, match));
+        when(matchOddsService.saveAll(anyList())).thenReturn(List.of(new MatchOdds(201L, match, "2", 4.2, 0L)));
+
+        byte[] response = mockMvc.perform(post("/api/matchOdds/batch")
+                        .contentType(MatchProtobufCodec.MEDIA_TYPE)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<MatchOddsDTO> saved = new CBORMapper().readValue(response, new TypeReference<>() {
+        });
+        Assertions.assertEquals(1, saved.size());
+        Assertions.assertEquals(201L, saved.getFirst().getId());
+        Assertions.assertEquals(6L, saved.getFirst().getMatchId());
+        Assertions.assertEquals(4.2, saved.getFirst().getOdd());
+    }
+
     @Test
     void testUpdateMatchOdds() throws Exception {
         Match match = new Match();
@@ -219,11 +365,37 @@ class MatchOddsControllerTest {
 
     @Test
     void testDeleteMatchOddsByIds() throws Exception {
-        doNothing().when(matchOddsService).deleteByIds(List.of(1L, 2L, 3L));
+        when(matchOddsService.deleteByIds(List.of(1L, 2L, 3L))).thenReturn(3);
 
         mockMvc.perform(delete("/api/matchOdds")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(List.of(1, 2, 3))))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    void testDeleteMatchOddsByFilter() throws Exception {
+        when(matchOddsService.deleteMatchOdds(new MatchOddsFilter("X", null, null, null, 5L))).thenReturn(2);
+
+        mockMvc.perform(delete("/api/matchOdds?specifier=X&matchId=5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
+    @Test
+    void testBatchSaveMatchOdds_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"chunk\":1,\"received\":2,\"saved\":2,\"skipped\":0}\n".getBytes());
+            return null;
+        }).when(streamingIngestService).ingestMatchOdds(any(), any());
+
+        mockMvc.perform(post("/api/matchOdds/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"matchId\":5,\"specifier\":\"1\",\"odd\":2.0}\n{\"matchId\":5,\"specifier\":\"X\",\"odd\":3.5}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.saved").value(2));
     }
 }
@@ -0,0 +1,93 @@
+package com.example.matchmanagementapi.dto;
+
+import com.example.matchmanagementapi.domain.Sport;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchProtobufCodecTest {
+
+    private MatchDTO createSampleMatch() {
+        MatchDTO dto = new MatchDTO();
+        dto.setId(1L);
+        dto.setDescription("OSFP-PAO");
+        dto.setMatchDate(LocalDate.of(2025, 8, 1));
+        dto.setMatchTime(LocalTime.of(20, 30));
+        dto.setTeamA("OSFP");
+        dto.setTeamB("PAO");
+        dto.setSport(Sport.Basketball);
+        return dto;
+    }
+
+    @Test
+    void testMatches_roundTripKeepsNullFields() throws IOException {
+        MatchDTO full = createSampleMatch();
+        full.setVersion(4L);
+        MatchDTO partial = new MatchDTO();
+        partial.setTeamA("AEK");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeMatches(List.of(full, partial), out);
+
+        assertEquals(List.of(full, partial), MatchProtobufCodec.readMatches(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void testViewsAndDTOs_encodeIdentically() throws IOException {
+        MatchOddsDTO dto = new MatchOddsDTO();
+        dto.setId(10L);
+        dto.setMatchId(1L);
+        dto.setSpecifier("X");
+        dto.setOdd(3.25);
+
+        ByteArrayOutputStream fromDto = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeOddsList(List.of(dto), fromDto);
+        ByteArrayOutputStream fromView = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeOddsList(List.of(new MatchOddsView(10L, 1L, "X", 3.25)), fromView);
+
+        assertArrayEquals(fromDto.toByteArray(), fromView.toByteArray());
+        assertEquals(List.of(dto), MatchProtobufCodec.readOddsList(new ByteArrayInputStream(fromView.toByteArray())));
+    }
+
+    @Test
+    void testWireFormat_matchesSchema() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatchProtobufCodec.writeMatches(List.of(createSampleMatch()), out);
+
+        UnknownFieldSet list = UnknownFieldSet.parseFrom(out.toByteArray());
+        List<ByteString> items = list.getField(1).getLengthDelimitedList();
+        assertEquals(1, items.size());
+
+        UnknownFieldSet match = UnknownFieldSet.parseFrom(items.getFirst());
+        assertEquals(List.of(1L), match.getField(1).getVarintList());
+        assertEquals("OSFP-PAO", match.getField(2).getLengthDelimitedList().getFirst().toStringUtf8());
+        assertEquals(List.of(LocalDate.of(2025, 8, 1).toEpochDay()), match.getField(3).getVarintList());
+        assertEquals(List.of((long) LocalTime.of(20, 30).toSecondOfDay()), match.getField(4).getVarintList());
+        assertEquals(List.of(2L), match.getField(7).getVarintList());
+        assertFalse(match.hasField(8));
+    }
+
+    @Test
+    void testRead_skipsUnknownFields() throws IOException {
+        UnknownFieldSet odds = UnknownFieldSet.newBuilder()
+                .addField(1, UnknownFieldSet.Field.newBuilder().addVarint(7L).build())
+                .addField(4, UnknownFieldSet.Field.newBuilder().addFixed64(Double.doubleToLongBits(1.9)).build())
+                .addField(99, UnknownFieldSet.Field.newBuilder().addLengthDelimited(ByteString.copyFromUtf8("future")).build())
+                .build();
+
+        MatchOddsDTO dto = MatchProtobufCodec.readOdds(new ByteArrayInputStream(odds.toByteArray()));
+
+        assertEquals(7L, dto.getId());
+        assertEquals(1.9, dto.getOdd());
+        assertNull(dto.getSpecifier());
+    }
+}
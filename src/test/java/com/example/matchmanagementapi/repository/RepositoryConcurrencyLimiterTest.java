@@ -0,0 +1,116 @@
+package com.example.matchmanagementapi.repository;
+
+import com.example.matchmanagementapi.Initializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class RepositoryConcurrencyLimiterTest extends Initializer {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private RepositoryConcurrencyLimiter limiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRepositoryCalls_goThroughLimiter() {
+        long before = meterRegistry.get("db.limiter.wait").timer().count();
+
+        matchRepository.save(match);
+        matchRepository.count();
+
+        Assertions.assertEquals(before + 2, meterRegistry.get("db.limiter.wait").timer().count());
+        Assertions.assertEquals(0, limiter.getActiveCount());
+    }
+
+    @Test
+    void testLimit_neverExceedsMaxConcurrency() throws Throwable {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RepositoryConcurrencyLimiter limiter = new RepositoryConcurrencyLimiter(true, 3, Duration.ofSeconds(1), registry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ProceedingJoinPoint call = Mockito.mock(ProceedingJoinPoint.class);
+        Mockito.when(call.proceed()).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(1);
+            running.decrementAndGet();
+            return null;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> calls = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                calls.add(executor.submit(limited(limiter, call)));
+            }
+            for (Future<Object> f : calls) {
+                f.get();
+            }
+        }
+
+        Assertions.assertEquals(3, maxRunning.get());
+        Assertions.assertEquals(30, registry.get("db.limiter.wait").timer().count());
+        Assertions.assertTrue(registry.get("db.limiter.wait").timer().max(TimeUnit.MILLISECONDS) > 0);
+        Assertions.assertEquals(0, limiter.getActiveCount());
+    }
+
+    @Test
+    void testLimit_rejectsAfterAcquireTimeout() throws Throwable {
+        RepositoryConcurrencyLimiter limiter = new RepositoryConcurrencyLimiter(true, 1, Duration.ofMillis(20), new SimpleMeterRegistry());
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowCall = Mockito.mock(ProceedingJoinPoint.class);
+        Mockito.when(slowCall.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await();
+            return null;
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> first = executor.submit(limited(limiter, slowCall));
+            holding.await();
+
+            Assertions.assertThrows(TransientDataAccessResourceException.class,
+                    () -> limiter.limit(Mockito.mock(ProceedingJoinPoint.class)));
+
+            release.countDown();
+            first.get();
+        }
+        Assertions.assertEquals(0, limiter.getActiveCount());
+    }
+
+    private static Callable<Object> limited(RepositoryConcurrencyLimiter limiter, ProceedingJoinPoint call) {
+        return () -> {
+            try {
+                return limiter.limit(call);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class ExportServiceTest extends Initializer {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Test
+    void testExportMatches_ndjsonAppliesFilter() throws IOException {
+        matchService.saveAll(List.of(
+                new Match("OSFP-PAO", testMatchDate, testMatchTime, "OSFP", "PAO", testSport),
+                new Match("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport),
+                new Match("PAOK-OFI", testMatchDate, testMatchTime, "PAOK", "OFI", Sport.Basketball)
+        ));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportMatches(
+                new MatchFilter(null, null, null, testSport, null, null, null, null, null, null),
+                ImportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertEquals(2, exported);
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("\"description\":\"OSFP-PAO\""));
+        Assertions.assertTrue(lines.get(1).contains("\"description\":\"AEK-ARIS\""));
+    }
+
+    @Test
+    void testExportMatchOdds_csv() throws IOException {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.saveAll(List.of(
+                new MatchOdds(savedMatch, "1", 1.9),
+                new MatchOdds(savedMatch, "X", 3.2)
+        ));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportMatchOdds(
+                new MatchOddsFilter(null, null, null, null, savedMatch.getId()),
+                ImportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        Assertions.assertEquals(2, exported);
+        Assertions.assertEquals("id,matchId,specifier,odd", lines.get(0));
+        Assertions.assertTrue(lines.get(1).endsWith("," + savedMatch.getId() + ",1,1.9"));
+        Assertions.assertTrue(lines.get(2).endsWith("," + savedMatch.getId() + ",X,3.2"));
+    }
+
+    @Test
+    void testExportMatches_emptyResult() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.exportMatches(
+                new MatchFilter(null, "NONE", null, null, null, null, null, null, null, null),
+                ImportFormat.CSV, out);
+
+        Assertions.assertEquals(0, exported);
+        Assertions.assertEquals("id,description,matchDate,matchTime,teamA,teamB,sport\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
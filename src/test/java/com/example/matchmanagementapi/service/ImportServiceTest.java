@@ -0,0 +1,148 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.ImportFormat;
+import com.example.matchmanagementapi.dto.ImportReport;
+import com.example.matchmanagementapi.exception.ImportFailedException;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = "app.import.chunk-size=2")
+public class ImportServiceTest extends Initializer {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImportMatches_csvSkipsDuplicates() throws IOException {
+        matchService.save(new Match("OSFP-PAO", testMatchDate, testMatchTime, "OSFP", "PAO", testSport));
+
+        Path file = Files.writeString(tempDir.resolve("matches.csv"), """
+                description,matchDate,matchTime,teamA,teamB,sport\r
+                OSFP-PAO,2021-03-31,12:00:00,OSFP,PAO,Football\r
+                AEK-ARIS,2021-03-31,12:00:00,AEK,ARIS,Football\r
+
+                AEK-ARIS,2021-03-31,12:00:00,AEK,ARIS,Football\r
+                PAOK-OFI,2021-04-01,18:30:00,PAOK,OFI,Basketball""");
+
+        ImportReport report = importService.importMatches(file, null);
+
+        Assertions.assertEquals(ImportFormat.CSV, report.format());
+        Assertions.assertEquals("batch", report.method());
+        Assertions.assertEquals(4, report.rowsRead());
+        Assertions.assertEquals(2, report.rowsInserted());
+        Assertions.assertEquals(2, report.rowsSkipped());
+        Assertions.assertEquals(3, matchService.findAll().size());
+    }
+
+    @Test
+    void testImportMatches_csvQuotedFields() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("quoted.csv"), """
+                description,matchDate,matchTime,teamA,teamB,sport
+                "AEK, Athens-ARIS",2021-03-31,12:00:00,"AEK, Athens",ARIS,Football
+                "OFI ""Crete""-PAOK",2021-04-01,18:30:00,"OFI ""Crete""\",PAOK,Basketball
+                """);
+
+        ImportReport report = importService.importMatches(file, null);
+
+        Assertions.assertEquals(2, report.rowsInserted());
+        List<Match> matches = matchService.findAll();
+        Assertions.assertTrue(matches.stream().anyMatch(m -> m.getTeamA().equals("AEK, Athens")
+                && m.getTeamB().equals("ARIS") && m.getSport() == Sport.Football));
+        Assertions.assertTrue(matches.stream().anyMatch(m -> m.getTeamA().equals("OFI \"Crete\"")
+                && m.getSport() == Sport.Basketball));
+    }
+
+    @Test
+    void testImportMatches_invalidLineKeepsWrittenChunks() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("broken.csv"), """
+                description,matchDate,matchTime,teamA,teamB,sport
+                AEK-ARIS,2021-03-31,12:00:00,AEK,ARIS,Football
+                PAOK-OFI,2021-04-01,18:30:00,PAOK,OFI,Basketball
+
+                OSFP-PAO,2021-04-02,20:00:00,OSFP,PAO,Football
+                LAR-ATR,not-a-date,20:00:00,LAR,ATR,Football
+                """);
+
+        ImportFailedException e = Assertions.assertThrows(ImportFailedException.class,
+                () -> importService.importMatches(file, null));
+
+        Assertions.assertEquals(6, e.getLine());
+        Assertions.assertTrue(e.getMessage().startsWith("Line 6 of broken.csv is invalid"));
+        Assertions.assertEquals(2, e.getReport().rowsRead());
+        Assertions.assertEquals(2, e.getReport().rowsInserted());
+        Assertions.assertEquals(2, matchService.findAll().size());
+    }
+
+    @Test
+    void testImportMatchOdds_ndjson() throws IOException {
+        Match savedMatch = matchService.save(match);
+        Long id = savedMatch.getId();
+
+        Path file = Files.writeString(tempDir.resolve("odds.ndjson"), String.join("\n", List.of(
+                "{\"matchId\":" + id + ",\"specifier\":\"1\",\"odd\":1.9}",
+                "{\"matchId\":" + id + ",\"specifier\":\"X\",\"odd\":3.2}",
+                "{\"matchId\":" + id + ",\"specifier\":\"X\",\"odd\":3.2}"
+        )) + "\n");
+
+        ImportReport report = importService.importMatchOdds(file, null);
+
+        Assertions.assertEquals(ImportFormat.NDJSON, report.format());
+        Assertions.assertEquals(3, report.rowsRead());
+        Assertions.assertEquals(2, report.rowsInserted());
+        Assertions.assertEquals(2, matchOddsService.getOddsForMatch(id).size());
+    }
+
+    @Test
+    void testImportMatchOdds_unknownMatchKeepsWrittenChunks() throws IOException {
+        Long id = matchService.save(match).getId();
+
+        Path file = Files.writeString(tempDir.resolve("orphans.ndjson"), String.join("\n", List.of(
+                "{\"matchId\":" + id + ",\"specifier\":\"1\",\"odd\":1.9}",
+                "{\"matchId\":" + id + ",\"specifier\":\"X\",\"odd\":3.2}",
+                "{\"matchId\":999999,\"specifier\":\"2\",\"odd\":4.5}",
+                "{\"matchId\":" + id + ",\"specifier\":\"2\",\"odd\":4.5}"
+        )) + "\n");
+
+        ImportFailedException e = Assertions.assertThrows(ImportFailedException.class,
+                () -> importService.importMatchOdds(file, null));
+
+        Assertions.assertEquals(3, e.getLine());
+        Assertions.assertEquals(4, e.getLastLine());
+        Assertions.assertTrue(e.getMessage().startsWith("Lines 3-4 of orphans.ndjson could not be written"));
+        Assertions.assertEquals(2, e.getReport().rowsRead());
+        Assertions.assertEquals(2, e.getReport().rowsInserted());
+        Assertions.assertEquals(2, matchOddsService.getOddsForMatch(id).size());
+    }
+
+    @Test
+    void testResolve_rejectsMissingAndEscapingPaths() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> importService.resolve("missing.csv"));
+        Assertions.assertThrows(ResponseStatusException.class, () -> importService.resolve("../pom.xml"));
+    }
+}
@@ -4,15 +4,31 @@ import com.example.matchmanagementapi.Initializer;
 import com.example.matchmanagementapi.domain.Match;
 import com.example.matchmanagementapi.domain.MatchOdds;
 import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.dto.OddsCompareAndSet;
+import com.example.matchmanagementapi.dto.OddsRepriceItem;
+import com.example.matchmanagementapi.dto.OddsRepriceResult;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -24,6 +40,9 @@ public class MatchOddsServiceTest extends Initializer {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void testSaveAndFindAll() {
         Match savedMatch = matchService.save(match);
@@ -36,6 +55,19 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertEquals(1, oddsList.size());
     }
 
+    @Test
+    void testSave_duplicateIsConflict() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds saved = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+
+        ResponseStatusException conflict = Assertions.assertThrows(ResponseStatusException.class,
+                () -> matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90)));
+
+        Assertions.assertNotNull(saved.getId());
+        Assertions.assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        Assertions.assertEquals(1, matchOddsService.getRecordsCount());
+    }
+
     @Test
     void testSaveAll() {
         Match savedMatch = matchService.save(match);
@@ -51,6 +83,95 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertEquals(3, result.size());
     }
 
+    @Test
+    void testSaveAll_skipsDuplicatesInBatchAndInDatabase() {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+
+        List<MatchOdds> saved = matchOddsService.saveAll(List.of(
+                new MatchOdds(savedMatch, "1", 1.90),
+                new MatchOdds(savedMatch, "X", 3.25),
+                new MatchOdds(savedMatch, "X", 3.25)
+        ));
+
+        Assertions.assertEquals(1, saved.size());
+        Assertions.assertEquals("X", saved.getFirst().getSpecifier());
+        Assertions.assertEquals(2, matchOddsService.findAll().size());
+    }
+
+    @Test
+    void testSaveAll_missingMatchesReportedTogether() {
+        Match savedMatch = matchService.save(match);
+        Match missing1 = new Match();
+        missing1.setId(-1L);
+        Match missing2 = new Match();
+        missing2.setId(-2L);
+
+        ResourceNotFoundException ex = Assertions.assertThrows(ResourceNotFoundException.class, () ->
+                matchOddsService.saveAll(List.of(
+                        new MatchOdds(savedMatch, "1", 1.90),
+                        new MatchOdds(missing1, "1", 1.90),
+                        new MatchOdds(missing2, "X", 3.10)
+                )));
+
+        Assertions.assertTrue(ex.getMessage().contains("-1"));
+        Assertions.assertTrue(ex.getMessage().contains("-2"));
+        Assertions.assertEquals(0, matchOddsService.findAll().size());
+    }
+
+    @Test
+    void testSaveAll_queryCountIndependentOfBatchSize() {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            matches.add(matchService.save(new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport)));
+        }
+
+        List<MatchOdds> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new MatchOdds(matches.get(i % matches.size()), "SP" + i, 1.0 + i));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            List<MatchOdds> saved = matchOddsService.saveAll(batch);
+
+            Assertions.assertEquals(1000, saved.size());
+            Assertions.assertEquals(2, statistics.getQueryExecutionCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testCountMatchOdds_countsWithoutLoadingRows() {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.saveAll(List.of(
+                new MatchOdds(savedMatch, "1", 1.90),
+                new MatchOdds(savedMatch, "1", 2.40),
+                new MatchOdds(savedMatch, "X", 3.20)
+        ));
+        MatchOddsFilter filter = new MatchOddsFilter("1", null, 2.0, null, savedMatch.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            Assertions.assertEquals(new RecordCount(1, true), matchOddsService.countMatchOdds(filter));
+            Assertions.assertEquals(new RecordCount(1, true), matchOddsService.countMatchOdds(filter));
+            Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+            Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        matchOddsService.save(new MatchOdds(savedMatch, "1", 2.75));
+        Assertions.assertEquals(new RecordCount(2, true), matchOddsService.countMatchOdds(filter));
+        Assertions.assertEquals(new RecordCount(4, true),
+                matchOddsService.countMatchOdds(new MatchOddsFilter(null, null, null, null, null)));
+    }
+
     @Test
     void testSearchMatchOdds_withFilters() {
         Match savedMatch = matchService.save(match);
@@ -68,6 +189,52 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertEquals(3.20, result.getFirst().getOdd());
     }
 
+    @Test
+    void testSearchMatchOdds_keysetPaginationByOdd() {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.saveAll(List.of(
+                new MatchOdds(savedMatch, "1", 4.00),
+                new MatchOdds(savedMatch, "X", 1.50),
+                new MatchOdds(savedMatch, "2", 2.75),
+                new MatchOdds(savedMatch, "1X", 1.50)
+        ));
+
+        MatchOddsFilter filter = new MatchOddsFilter(null, null, null, null, savedMatch.getId());
+        KeysetPage<MatchOddsView> first = matchOddsService.searchMatchOdds(filter, MatchOddsSort.ODD, null, 3);
+        KeysetPage<MatchOddsView> second = matchOddsService.searchMatchOdds(filter, MatchOddsSort.ODD, first.nextCursor(), 3);
+
+        Assertions.assertEquals(List.of(1.50, 1.50, 2.75), first.items().stream().map(MatchOddsView::odd).toList());
+        Assertions.assertNotNull(first.nextCursor());
+        Assertions.assertEquals(List.of(4.00), second.items().stream().map(MatchOddsView::odd).toList());
+        Assertions.assertNull(second.nextCursor());
+    }
+
+    @Test
+    void testSearchMatchOdds_cachedUntilNextWrite() {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOddsFilter filter = new MatchOddsFilter(null, null, null, null, savedMatch.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            KeysetPage<MatchOddsView> first = matchOddsService.searchMatchOdds(filter, null, null, null);
+            KeysetPage<MatchOddsView> second = matchOddsService.searchMatchOdds(filter, null, null, null);
+
+            Assertions.assertSame(first, second);
+            Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+
+            matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+            statistics.clear();
+
+            Assertions.assertEquals(2, matchOddsService.searchMatchOdds(filter, null, null, null).items().size());
+            Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     void testGetRecordsCount() {
         Match savedMatch = matchService.save(match);
@@ -93,6 +260,11 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertEquals(0, oddsList.size());
     }
 
+    @Test
+    void testDeleteById_missingIsNotFound() {
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchOddsService.deleteById(999_999L));
+    }
+
     @Test
     void testDeleteByIds() {
         Match savedMatch = matchService.save(match);
@@ -110,6 +282,21 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertEquals(0, oddsList.size());
     }
 
+    @Test
+    void testDeleteMatchOdds_byFilter() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+        matchOddsService.save(new MatchOdds(savedMatch, "X", 3.40));
+
+        int deleted = matchOddsService.deleteMatchOdds(new MatchOddsFilter("X", null, null, null, savedMatch.getId()));
+
+        Assertions.assertEquals(2, deleted);
+        Assertions.assertEquals(List.of(new MatchOddsView(home.getId(), savedMatch.getId(), "1", 1.90)),
+                matchOddsService.getOddsViewsForMatch(savedMatch.getId()));
+        Assertions.assertEquals(1, matchOddsService.getRecordsCount());
+    }
+
     @Test
     void testUpdate() {
         Match savedMatch = matchService.save(match);
@@ -121,6 +308,27 @@ public class MatchOddsServiceTest extends Initializer {
 
         Assertions.assertEquals("2", updated.getSpecifier());
         Assertions.assertEquals(2.25, updated.getOdd());
+        Assertions.assertEquals(new MatchOddsView(savedOdds.getId(), savedMatch.getId(), "2", 2.25, 1L),
+                matchOddsService.findView(savedOdds.getId()));
+    }
+
+    @Test
+    void testUpdate_missingIsNotFound() {
+        Match savedMatch = matchService.save(match);
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () ->
+                matchOddsService.update(999_999L, new MatchOdds(savedMatch, "1", 1.90)));
+    }
+
+    @Test
+    void testUpdate_duplicateIsConflict() {
+        Match savedMatch = matchService.save(match);
+        matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds other = matchOddsService.save(new MatchOdds(savedMatch, "1", 2.10));
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () ->
+                matchOddsService.update(other.getId(), new MatchOdds(savedMatch, "1", 1.90)));
+        Assertions.assertEquals(2.10, matchOddsService.findView(other.getId()).odd());
     }
 
     @Test
@@ -176,4 +384,163 @@ public class MatchOddsServiceTest extends Initializer {
         Assertions.assertThrows(IllegalArgumentException.class, () ->
                 matchOddsService.partialUpdate(savedOdds.getId(), updates));
     }
+
+    @Test
+    void testCompareAndSetOdd_appliesOnlyWithExpectedValues() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds saved = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        Long id = saved.getId();
+
+        Assertions.assertEquals(new MatchOddsView(id, savedMatch.getId(), "1", 1.95, 1L),
+                matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(1.95, 0L, null)));
+        Assertions.assertEquals(new MatchOddsView(id, savedMatch.getId(), "1", 2.00, 2L),
+                matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(2.00, null, 1.95)));
+
+        ResponseStatusException staleVersion = Assertions.assertThrows(ResponseStatusException.class,
+                () -> matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(2.10, 1L, null)));
+        ResponseStatusException staleOdd = Assertions.assertThrows(ResponseStatusException.class,
+                () -> matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(2.10, 2L, 1.95)));
+        ResponseStatusException noExpectation = Assertions.assertThrows(ResponseStatusException.class,
+                () -> matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(2.10, null, null)));
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, staleVersion.getStatusCode());
+        Assertions.assertEquals(HttpStatus.CONFLICT, staleOdd.getStatusCode());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, noExpectation.getStatusCode());
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> matchOddsService.compareAndSetOdd(999_999L, new OddsCompareAndSet(2.10, 0L, null)));
+        Assertions.assertEquals(new MatchOddsView(id, savedMatch.getId(), "1", 2.00, 2L), matchOddsService.findView(id));
+        Assertions.assertEquals(List.of(new MatchOddsView(id, savedMatch.getId(), "1", 2.00)),
+                matchOddsService.getOddsViewsForMatch(savedMatch.getId()));
+    }
+
+    @Test
+    void testCompareAndSetOdd_concurrentWritersLoseNoUpdates() throws Exception {
+        Match savedMatch = matchService.save(match);
+        Long id = matchOddsService.save(new MatchOdds(savedMatch, "1", 0.0)).getId();
+        int threads = 8;
+        int incrementsPerThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> conflicts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                conflicts.add(executor.submit(() -> {
+                    int lost = 0;
+                    for (int i = 0; i < incrementsPerThread; ) {
+                        MatchOddsView current = matchOddsService.findView(id);
+                        try {
+                            matchOddsService.compareAndSetOdd(id, new OddsCompareAndSet(current.odd() + 1, current.version(), null));
+                            i++;
+                        } catch (ResponseStatusException e) {
+                            Assertions.assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                            lost++;
+                        }
+                    }
+                    return lost;
+                }));
+            }
+            for (Future<Integer> f : conflicts) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MatchOddsView result = matchOddsService.findView(id);
+        Assertions.assertEquals(threads * incrementsPerThread, result.odd());
+        Assertions.assertEquals(threads * incrementsPerThread, result.version());
+    }
+
+    @Test
+    void testReprice_reportsOutcomePerItem() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+        MatchOdds otherDraw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.40));
+        MatchOdds away = matchOddsService.save(new MatchOdds(savedMatch, "2", 4.10));
+
+        List<OddsRepriceResult> results = matchOddsService.reprice(List.of(
+                new OddsRepriceItem(home.getId(), null, null, 1.95),
+                new OddsRepriceItem(null, savedMatch.getId(), "2", 4.00),
+                new OddsRepriceItem(null, savedMatch.getId(), "X", 3.30),
+                new OddsRepriceItem(draw.getId(), null, null, 3.40),
+                new OddsRepriceItem(home.getId(), null, null, 2.05),
+                new OddsRepriceItem(999_999L, null, null, 1.50),
+                new OddsRepriceItem(null, savedMatch.getId(), null, 1.50),
+                new OddsRepriceItem(otherDraw.getId(), null, null, 3.40)
+        ));
+
+        Assertions.assertEquals(List.of(
+                OddsRepriceResult.Status.SUPERSEDED,
+                OddsRepriceResult.Status.UPDATED,
+                OddsRepriceResult.Status.AMBIGUOUS,
+                OddsRepriceResult.Status.CONFLICT,
+                OddsRepriceResult.Status.UPDATED,
+                OddsRepriceResult.Status.NOT_FOUND,
+                OddsRepriceResult.Status.INVALID,
+                OddsRepriceResult.Status.UNCHANGED
+        ), results.stream().map(OddsRepriceResult::status).toList());
+        Assertions.assertEquals(away.getId(), results.get(1).id());
+        Assertions.assertEquals(List.of(
+                new MatchOddsView(home.getId(), savedMatch.getId(), "1", 2.05),
+                new MatchOddsView(draw.getId(), savedMatch.getId(), "X", 3.20),
+                new MatchOddsView(otherDraw.getId(), savedMatch.getId(), "X", 3.40),
+                new MatchOddsView(away.getId(), savedMatch.getId(), "2", 4.00)
+        ), matchOddsService.getOddsViewsForMatch(savedMatch.getId()));
+        Assertions.assertEquals(4.00, matchOddsService.find(away.getId()).getOdd());
+    }
+
+    @Test
+    void testReprice_largeBatchIsChunked() {
+        Match savedMatch = matchService.save(match);
+        List<MatchOdds> saved = matchOddsService.saveAll(IntStream.rangeClosed(1, 2500)
+                .mapToObj(i -> new MatchOdds(savedMatch, "1", i))
+                .toList());
+
+        List<OddsRepriceResult> results = matchOddsService.reprice(saved.stream()
+                .map(o -> new OddsRepriceItem(o.getId(), null, null, o.getOdd() + 0.5))
+                .toList());
+
+        Assertions.assertTrue(results.stream().allMatch(r -> r.status() == OddsRepriceResult.Status.UPDATED));
+        Assertions.assertTrue(matchOddsService.getOddsViewsForMatch(savedMatch.getId()).stream()
+                .allMatch(o -> o.odd() % 1 == 0.5));
+        Assertions.assertEquals(1.5, matchOddsService.find(saved.get(0).getId()).getOdd());
+        Assertions.assertEquals(2500.5, matchOddsService.find(saved.get(2499).getId()).getOdd());
+    }
+
+    @Test
+    void testEnqueuePartialUpdate_coalescedAndWrittenByFlush() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+
+        matchOddsService.enqueuePartialUpdate(home.getId(), Map.of("odd", 1.95));
+        matchOddsService.enqueuePartialUpdate(home.getId(), Map.of("odd", 2.05));
+        // Would duplicate (match, "1", 2.05): dropped at flush without failing the others
+        matchOddsService.enqueuePartialUpdate(draw.getId(), Map.of("specifier", "1", "odd", 2.05));
+        matchOddsService.flushQueuedUpdates();
+
+        Assertions.assertEquals(2.05, matchOddsService.find(home.getId()).getOdd());
+        Assertions.assertEquals("X", matchOddsService.find(draw.getId()).getSpecifier());
+        Assertions.assertEquals(List.of(
+                new MatchOddsView(home.getId(), savedMatch.getId(), "1", 2.05),
+                new MatchOddsView(draw.getId(), savedMatch.getId(), "X", 3.20)
+        ), matchOddsService.getOddsViewsForMatch(savedMatch.getId()));
+    }
+
+    @Test
+    void testEnqueueUpdates_unknownOddsRejected() {
+        Match savedMatch = matchService.save(match);
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () ->
+                matchOddsService.enqueuePartialUpdate(Long.MAX_VALUE, Map.of("odd", 1.95)));
+        Assertions.assertThrows(ResourceNotFoundException.class, () ->
+                matchOddsService.enqueueUpdate(Long.MAX_VALUE, new MatchOdds(savedMatch, "1", 1.95)));
+    }
+
+    @Test
+    void testEnqueuePartialUpdate_invalidField_throwsException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                matchOddsService.enqueuePartialUpdate(1L, Map.of("invalidField", "value")));
+    }
 }
@@ -2,17 +2,33 @@ package com.example.matchmanagementapi.service;
 
 import com.example.matchmanagementapi.Initializer;
 import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
 import com.example.matchmanagementapi.domain.Sport;
+import com.example.matchmanagementapi.dto.MatchFilter;
+import com.example.matchmanagementapi.dto.MatchView;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -20,6 +36,15 @@ public class MatchServiceTest extends Initializer {
     @Autowired
     private MatchService matchService;
 
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void testSaveAndFindAll(){
         Match savedMatch = matchService.save(match);
@@ -29,6 +54,39 @@ public class MatchServiceTest extends Initializer {
         Assertions.assertEquals(1, matchList.size());
     }
 
+    @Test
+    void testSave_concurrentDuplicatesInsertOnce() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Match>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return matchService.save(new Match(description, testMatchDate, testMatchTime, teamA, teamB, testSport));
+            }));
+        }
+        start.countDown();
+
+        int saved = 0;
+        int conflicts = 0;
+        for (Future<Match> result : results) {
+            try {
+                Assertions.assertNotNull(result.get().getId());
+                saved++;
+            } catch (ExecutionException e) {
+                ResponseStatusException conflict = Assertions.assertInstanceOf(ResponseStatusException.class, e.getCause());
+                Assertions.assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(1, saved);
+        Assertions.assertEquals(threads - 1, conflicts);
+        Assertions.assertEquals(1, matchService.getRecordsCount());
+    }
+
     @Test
     void testSaveAll(){
         List<Match> matches = new ArrayList<>();
@@ -49,6 +107,52 @@ public class MatchServiceTest extends Initializer {
         Assertions.assertEquals(5, matchList.size());
     }
 
+    @Test
+    void testSaveAll_skipsDuplicatesInBatchAndInDatabase(){
+        matchService.save(new Match("OSFP-PAO", testMatchDate, testMatchTime, "OSFP", "PAO", testSport));
+
+        List<Match> matches = List.of(
+                new Match("OSFP-PAO", testMatchDate, testMatchTime, "OSFP", "PAO", testSport),
+                new Match("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport),
+                new Match("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport)
+        );
+
+        List<Match> saved = matchService.saveAll(matches);
+
+        Assertions.assertEquals(1, saved.size());
+        Assertions.assertEquals("AEK-ARIS", saved.getFirst().getDescription());
+        Assertions.assertEquals(2, matchService.findAll().size());
+    }
+
+    @Test
+    void testSaveAll_statementCountBoundedForLargeBatch(){
+        int batchSize = 1000;
+        List<Match> existing = new ArrayList<>();
+        for (int i = 0; i < batchSize / 2; i++) {
+            existing.add(new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport));
+        }
+        matchService.saveAll(existing);
+
+        List<Match> batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            List<Match> saved = matchService.saveAll(batch);
+
+            Assertions.assertEquals(batchSize / 2, saved.size());
+            Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+            Assertions.assertTrue(statistics.getPrepareStatementCount() <= batchSize / 2 + 1,
+                    "Unexpected statement count: " + statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     void testSearchMatches_withFilters() {
         Match match1 = new Match("OSFP-PAO", testMatchDate, LocalTime.of(20, 0), "OSFP", "PAO", Sport.Football);
@@ -74,6 +178,63 @@ public class MatchServiceTest extends Initializer {
         Assertions.assertEquals("OSFP-PAO", result.getFirst().getDescription());
     }
 
+    @Test
+    void testSearchMatches_keysetPagination() {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            matches.add(new Match("T" + i + "-U" + i, testMatchDate.plusDays(i % 2), testMatchTime, "T" + i, "U" + i, testSport));
+        }
+        matchService.saveAll(matches);
+        matchService.save(new Match("B-C", testMatchDate, testMatchTime, "B", "C", Sport.Basketball));
+
+        MatchFilter filter = new MatchFilter(null, null, null, testSport, null, null, null, null, null, null);
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<MatchView> page = matchService.searchMatches(filter, MatchSort.KICKOFF, cursor, 2);
+            page.items().forEach(m -> seen.add(m.description()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals(List.of("T0-U0", "T2-U2", "T4-U4", "T1-U1", "T3-U3"), seen);
+    }
+
+    @Test
+    void testReadViews_doNotLoadEntities() {
+        Match saved = matchService.save(match);
+        matchService.saveAll(List.of(new Match("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            MatchView view = matchService.findView(saved.getId());
+            KeysetPage<MatchView> page = matchService.searchMatches(
+                    new MatchFilter(null, null, null, testSport, null, null, null, null, null, null),
+                    MatchSort.ID, null, 10);
+
+            Assertions.assertEquals(saved.getDescription(), view.description());
+            Assertions.assertEquals(saved.getMatchDate(), view.matchDate());
+            Assertions.assertEquals(2, page.items().size());
+            Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchService.findView(-1L));
+    }
+
+    @Test
+    void testSearchMatches_invalidCursorRejected() {
+        MatchFilter filter = new MatchFilter(null, null, null, null, null, null, null, null, null, null);
+
+        Assertions.assertThrows(ResponseStatusException.class, () ->
+                matchService.searchMatches(filter, MatchSort.KICKOFF, "not-a-cursor", 10));
+    }
+
     @Test
     void testGetRecordsCount(){
         for (int i=0; i<5; i++){
@@ -102,6 +263,11 @@ public class MatchServiceTest extends Initializer {
         Assertions.assertEquals(0, matchList.size());
     }
 
+    @Test
+    void testDeleteById_missingIsNotFound(){
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchService.deleteById(999_999L));
+    }
+
     @Test
     void testDeleteByIds(){
         List<Long> ids = new ArrayList<>();
@@ -123,6 +289,120 @@ public class MatchServiceTest extends Initializer {
         Assertions.assertEquals(0, matchList.size());
     }
 
+    @Test
+    void testCountMatches_usesSearchFilters(){
+        matchService.save(match);
+        matchService.save(new Match("AEK-PAOK", LocalDate.of(2025, 8, 1), testMatchTime, "AEK", "PAOK", Sport.Basketball));
+        matchService.save(new Match("AEK-ARIS", LocalDate.of(2025, 8, 2), testMatchTime, "AEK", "ARIS", testSport));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        RecordCount count = matchService.countMatches(new MatchFilter(null, "AEK", null, null,
+                null, null, LocalDate.of(2025, 1, 1), null, null, null));
+
+        Assertions.assertEquals(new RecordCount(2, true), count);
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(new RecordCount(1, true), matchService.countMatches(new MatchFilter(null, "AEK", null,
+                Sport.Basketball, null, null, null, null, null, null)));
+        Assertions.assertEquals(new RecordCount(3, true), matchService.countMatches(new MatchFilter(null, null, null, null,
+                null, null, null, null, null, null)));
+    }
+
+    @Test
+    void testDeleteByIds_cascadesToOddsWithoutLoadingEntities(){
+        Match savedMatch = matchService.save(match);
+        matchOddsService.saveAll(List.of(
+                new MatchOdds(savedMatch, "1", 1.90),
+                new MatchOdds(savedMatch, "X", 3.20)
+        ));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int deleted = matchService.deleteByIds(List.of(savedMatch.getId(), 999_999L));
+
+        Assertions.assertEquals(1, deleted);
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(0, statistics.getEntityDeleteCount());
+        Assertions.assertEquals(0, matchOddsService.getRecordsCount());
+        Assertions.assertEquals(List.of(), matchOddsService.getOddsViewsForMatch(savedMatch.getId()));
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchService.find(savedMatch.getId()));
+    }
+
+    @Test
+    void testDeleteMatches_byFilter(){
+        Match old = matchService.save(new Match("A-B", LocalDate.of(2024, 12, 31), testMatchTime, "A", "B", testSport));
+        Match recent = matchService.save(new Match("C-D", LocalDate.of(2025, 1, 1), testMatchTime, "C", "D", testSport));
+        matchOddsService.save(new MatchOdds(old, "1", 1.90));
+
+        int deleted = matchService.deleteMatches(new MatchFilter(null, null, null, null,
+                null, LocalDate.of(2025, 1, 1), null, null, null, null));
+
+        Assertions.assertEquals(1, deleted);
+        Assertions.assertEquals(List.of(recent.getId()), matchService.findAll().stream().map(Match::getId).toList());
+        Assertions.assertEquals(0, matchOddsService.getRecordsCount());
+    }
+
+    @Test
+    void testDeleteMatches_emptyFilterRejected(){
+        matchService.save(match);
+
+        ResponseStatusException e = Assertions.assertThrows(ResponseStatusException.class, () -> matchService.deleteMatches(
+                new MatchFilter(null, null, null, null, null, null, null, null, null, null)));
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        Assertions.assertEquals(1, matchService.getRecordsCount());
+    }
+
+    @Test
+    void testFind_servedFromCacheUntilPatched() {
+        Match saved = matchService.save(match);
+        double hitsBefore = cacheGets("hit");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            matchService.find(saved.getId());
+            matchService.find(saved.getId()).setTeamA("MUTATED");
+            Match cached = matchService.find(saved.getId());
+
+            Assertions.assertEquals(teamA, cached.getTeamA());
+            Assertions.assertEquals(1, statistics.getEntityLoadCount());
+            Assertions.assertEquals(hitsBefore + 2, cacheGets("hit"));
+
+            matchService.partialUpdate(saved.getId(), Map.of("teamA", "AEK"));
+            statistics.clear();
+
+            Assertions.assertEquals("AEK", matchService.find(saved.getId()).getTeamA());
+            Assertions.assertEquals(1, statistics.getEntityLoadCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        matchService.deleteById(saved.getId());
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchService.find(saved.getId()));
+    }
+
+    @Test
+    void testUpdate_singleStatementWithoutLoading() {
+        Match saved = matchService.save(match);
+        Match incoming = new Match("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Match updated = matchService.update(saved.getId(), incoming);
+
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(1L, updated.getVersion());
+        Assertions.assertEquals(1L, matchService.findView(saved.getId()).version());
+        Assertions.assertEquals(2L, matchService.update(saved.getId(), incoming).getVersion());
+        Match reloaded = matchService.find(saved.getId());
+        Assertions.assertEquals("AEK-ARIS", reloaded.getDescription());
+        Assertions.assertEquals(Match.naturalKeyOf("AEK-ARIS", testMatchDate, testMatchTime, "AEK", "ARIS", testSport),
+                reloaded.getNaturalKey());
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> matchService.update(999_999L, incoming));
+    }
+
     @Test
     void testUpdate_shouldRegenerateDescriptionAndUpdateAllFields() {
         Match original = new Match(
@@ -189,4 +469,8 @@ public class MatchServiceTest extends Initializer {
 
         Assertions.assertThrows(IllegalArgumentException.class, () -> matchService.partialUpdate(savedMatch.getId(), updates));
     }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "matches").tag("result", result).functionCounter().count();
+    }
 }
@@ -0,0 +1,163 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class OddsBookTest extends Initializer {
+
+    @Autowired
+    private OddsBook oddsBook;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private OddsHistoryService oddsHistoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testGetOddsViewsForMatch_servedWithoutQueries() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+
+        // Write the buffered history ticks now, so that a scheduled flush does not run during the reads
+        oddsHistoryService.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            List<MatchOddsView> odds = matchOddsService.getOddsViewsForMatch(savedMatch.getId());
+
+            Assertions.assertEquals(List.of(
+                    new MatchOddsView(home.getId(), savedMatch.getId(), "1", 1.90),
+                    new MatchOddsView(draw.getId(), savedMatch.getId(), "X", 3.20)
+            ), odds);
+            Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testPartialUpdate_movesOddsToOtherMatch() {
+        Match first = matchService.save(match);
+        Match second = matchService.save(new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport));
+        MatchOdds odds = matchOddsService.save(new MatchOdds(first, "1", 1.90));
+
+        matchOddsService.partialUpdate(odds.getId(), Map.of("match", Map.of("id", second.getId()), "odd", 2.05));
+
+        Assertions.assertTrue(matchOddsService.getOddsViewsForMatch(first.getId()).isEmpty());
+        Assertions.assertEquals(List.of(new MatchOddsView(odds.getId(), second.getId(), "1", 2.05)),
+                matchOddsService.getOddsViewsForMatch(second.getId()));
+    }
+
+    @Test
+    void testDeletes_removeOddsFromBook() {
+        Match first = matchService.save(match);
+        Match second = matchService.save(new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport));
+        MatchOdds home = matchOddsService.save(new MatchOdds(first, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(first, "X", 3.20));
+        matchOddsService.save(new MatchOdds(second, "2", 4.10));
+        long before = oddsBook.size();
+
+        matchOddsService.deleteById(home.getId());
+        Assertions.assertEquals(List.of(new MatchOddsView(draw.getId(), first.getId(), "X", 3.20)),
+                matchOddsService.getOddsViewsForMatch(first.getId()));
+
+        oddsBook.removeMatches(List.of(second.getId()));
+        Assertions.assertTrue(matchOddsService.getOddsViewsForMatch(second.getId()).isEmpty());
+        Assertions.assertEquals(before - 2, oddsBook.size());
+    }
+
+    @Test
+    void testVersion_changesWithEveryWriteToTheMatch() {
+        Match first = matchService.save(match);
+        Match second = matchService.save(new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport));
+        Assertions.assertEquals(0, oddsBook.version(first.getId()));
+
+        MatchOdds home = matchOddsService.save(new MatchOdds(first, "1", 1.90));
+        long added = oddsBook.version(first.getId());
+        matchOddsService.save(new MatchOdds(second, "1", 2.10));
+        Assertions.assertEquals(added, oddsBook.version(first.getId()));
+
+        matchOddsService.partialUpdate(home.getId(), Map.of("odd", 1.95));
+        long updated = oddsBook.version(first.getId());
+        Assertions.assertTrue(updated > added);
+
+        matchOddsService.deleteById(home.getId());
+        Assertions.assertEquals(0, oddsBook.version(first.getId()));
+        matchOddsService.save(new MatchOdds(first, "1", 1.90));
+        Assertions.assertTrue(oddsBook.version(first.getId()) > updated);
+    }
+
+    @Test
+    void testPutAll_keepsNewerVersionAndDeletes() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.20));
+        matchOddsService.partialUpdate(home.getId(), Map.of("odd", 1.95));
+
+        // Writes applied after commit in the wrong order
+        oddsBook.putAll(List.of(new MatchOdds(home.getId(), savedMatch, "1", 1.90, home.getVersion())));
+        matchOddsService.deleteById(draw.getId());
+        oddsBook.putAll(List.of(new MatchOdds(draw.getId(), savedMatch, "X", 3.20, draw.getVersion())));
+
+        Assertions.assertEquals(List.of(new MatchOddsView(home.getId(), savedMatch.getId(), "1", 1.95)),
+                oddsBook.get(savedMatch.getId()));
+    }
+
+    @Test
+    void testSaveAll_manyMatchesThenRebuildMatchesDatabase() {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            matches.add(new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport));
+        }
+        List<Match> savedMatches = matchService.saveAll(matches);
+
+        List<MatchOdds> odds = new ArrayList<>();
+        for (Match saved : savedMatches) {
+            odds.add(new MatchOdds(saved, "1", 1.50));
+            odds.add(new MatchOdds(saved, "2", 2.50));
+        }
+        matchOddsService.saveAll(odds);
+
+        Map<Long, List<MatchOddsView>> live = new HashMap<>();
+        for (Match saved : savedMatches) {
+            List<MatchOddsView> views = matchOddsService.getOddsViewsForMatch(saved.getId());
+            Assertions.assertEquals(matchOddsRepository.findViewsByMatchId(saved.getId()), views);
+            live.put(saved.getId(), views);
+        }
+
+        oddsBook.rebuild();
+
+        Assertions.assertEquals(matchOddsService.getRecordsCount(), oddsBook.size());
+        live.forEach((matchId, views) -> Assertions.assertEquals(views, oddsBook.get(matchId)));
+    }
+}
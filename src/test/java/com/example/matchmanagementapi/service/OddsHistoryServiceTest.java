@@ -0,0 +1,72 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.OddsHistoryPoint;
+import com.example.matchmanagementapi.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class OddsHistoryServiceTest extends Initializer {
+
+    @Autowired
+    private OddsHistoryService oddsHistoryService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Test
+    void testGetHistory_recordsSaveAndEveryUpdateAcrossFlushes() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds odds = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.00));
+        matchOddsService.partialUpdate(odds.getId(), Map.of("odd", 3.10));
+        oddsHistoryService.flush();
+
+        MatchOdds replacement = new MatchOdds(savedMatch, "X", 3.25);
+        matchOddsService.update(odds.getId(), replacement);
+        matchOddsService.partialUpdate(odds.getId(), Map.of("specifier", "1"));
+
+        List<Double> prices = oddsHistoryService.getHistory(odds.getId(), null, null).stream()
+                .map(OddsHistoryPoint::odd)
+                .toList();
+        Assertions.assertEquals(List.of(3.00, 3.10, 3.25, 3.25), prices);
+
+        oddsHistoryService.flush();
+        Assertions.assertEquals(prices, oddsHistoryService.getHistory(odds.getId(), null, null).stream()
+                .map(OddsHistoryPoint::odd)
+                .toList());
+    }
+
+    @Test
+    void testGetOddAt_returnsPriceInEffect() throws InterruptedException {
+        Match savedMatch = matchService.save(match);
+        MatchOdds odds = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        Thread.sleep(5);
+        Instant between = Instant.now();
+        Thread.sleep(5);
+        matchOddsService.partialUpdate(odds.getId(), Map.of("odd", 1.75));
+        oddsHistoryService.flush();
+
+        Assertions.assertEquals(1.90, oddsHistoryService.getOddAt(odds.getId(), between).odd());
+        Assertions.assertEquals(1.75, oddsHistoryService.getOddAt(odds.getId(), Instant.now()).odd());
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> oddsHistoryService.getOddAt(odds.getId(), between.minusSeconds(60)));
+
+        List<OddsHistoryPoint> afterBetween = oddsHistoryService.getHistory(odds.getId(), between, null);
+        Assertions.assertEquals(1, afterBetween.size());
+        Assertions.assertEquals(1.75, afterBetween.getFirst().odd());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.MatchOddsFilter;
+import com.example.matchmanagementapi.dto.MatchOddsView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class OddsRangeIndexTest extends Initializer {
+
+    @Autowired
+    private OddsRangeIndex oddsRangeIndex;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private OddsHistoryService oddsHistoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testRangeSearch_servedWithoutQueries() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds low = matchOddsService.save(new MatchOdds(savedMatch, "X", 2.80));
+        MatchOdds high = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.40));
+        matchOddsService.save(new MatchOdds(savedMatch, "1", 3.40));
+
+        // Write the buffered history ticks now, so that a scheduled flush does not run during the reads
+        oddsHistoryService.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            KeysetPage<MatchOddsView> page = matchOddsService.searchMatchOdds(
+                    new MatchOddsFilter("X", null, 3.0, null, null), null, null, null);
+
+            Assertions.assertEquals(List.of(new MatchOddsView(high.getId(), savedMatch.getId(), "X", 3.40)), page.items());
+            Assertions.assertEquals(List.of(new MatchOddsView(low.getId(), savedMatch.getId(), "X", 2.80)),
+                    matchOddsService.searchMatchOdds(new MatchOddsFilter("X", 2.80, null, null, null), null, null, null).items());
+            Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testRangeSearch_matchesDatabaseAfterWrites() {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            matches.add(new Match("T" + i + "-U" + i, testMatchDate, testMatchTime, "T" + i, "U" + i, testSport));
+        }
+        List<Match> savedMatches = matchService.saveAll(matches);
+
+        Random random = new Random(7);
+        List<MatchOdds> odds = new ArrayList<>();
+        for (Match saved : savedMatches) {
+            for (int k = 0; k < 80; k++) {
+                odds.add(new MatchOdds(saved, k % 4 == 0 ? "X" : "1", 1.0 + k * 0.05 + random.nextInt(3) * 0.01));
+            }
+        }
+        List<MatchOdds> savedOdds = matchOddsService.saveAll(odds);
+
+        for (int i = 0; i < 200; i++) {
+            MatchOdds target = savedOdds.get(random.nextInt(savedOdds.size()));
+            matchOddsService.partialUpdate(target.getId(), Map.of("odd", 1.0 + i * 0.0137));
+        }
+        matchOddsService.deleteByIds(savedOdds.subList(0, 300).stream().map(MatchOdds::getId).toList());
+        matchOddsService.deleteById(savedOdds.get(1000).getId());
+
+        assertSameAsDatabase();
+        oddsRangeIndex.rebuild();
+        assertSameAsDatabase();
+    }
+
+    @Test
+    void testPutAll_keepsNewerVersionAndDeletes() {
+        Match savedMatch = matchService.save(match);
+        MatchOdds home = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "1", 3.20));
+        matchOddsService.partialUpdate(home.getId(), Map.of("odd", 1.95));
+
+        // Writes applied after commit in the wrong order
+        oddsRangeIndex.putAll(List.of(new MatchOdds(home.getId(), savedMatch, "1", 1.90, home.getVersion())));
+        matchOddsService.deleteById(draw.getId());
+        oddsRangeIndex.putAll(List.of(new MatchOdds(draw.getId(), savedMatch, "1", 3.20, draw.getVersion())));
+
+        Assertions.assertEquals(List.of(new MatchOddsView(home.getId(), savedMatch.getId(), "1", 1.95)),
+                oddsRangeIndex.find("1", 0, Double.MAX_VALUE, MatchOddsSort.ODD, null, 10));
+    }
+
+    // <editor-fold desc="Private HELPER Methods">
+    private void assertSameAsDatabase() {
+        List<MatchOddsFilter> filters = List.of(
+                new MatchOddsFilter("1", null, 2.0, 3.5, null),
+                new MatchOddsFilter("X", null, null, 2.5, null),
+                new MatchOddsFilter(null, null, 2.4, null, null),
+                new MatchOddsFilter(null, 2.0, null, null, null),
+                new MatchOddsFilter("1", null, 3.0, 2.0, null)
+        );
+        for (MatchOddsFilter filter : filters) {
+            List<MatchOdds> expected = new ArrayList<>(matchOddsService.searchMatchOdds(
+                    filter.specifier(), filter.odd(), filter.oddOver(), filter.oddUnder(), null));
+
+            expected.sort(Comparator.comparing(MatchOdds::getId));
+            Assertions.assertEquals(toViews(expected), allPages(filter, MatchOddsSort.ID), filter + " by id");
+
+            expected.sort(Comparator.comparingDouble(MatchOdds::getOdd).thenComparing(MatchOdds::getId));
+            Assertions.assertEquals(toViews(expected), allPages(filter, MatchOddsSort.ODD), filter + " by odd");
+        }
+    }
+
+    private List<MatchOddsView> allPages(MatchOddsFilter filter, MatchOddsSort sort) {
+        List<MatchOddsView> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<MatchOddsView> page = matchOddsService.searchMatchOdds(filter, sort, cursor, 97);
+            rows.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static List<MatchOddsView> toViews(List<MatchOdds> odds) {
+        return odds.stream()
+                .map(o -> new MatchOddsView(o.getId(), o.getMatch().getId(), o.getSpecifier(), o.getOdd()))
+                .toList();
+    }
+    // </editor-fold>
+}
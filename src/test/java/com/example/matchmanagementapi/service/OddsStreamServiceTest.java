@@ -0,0 +1,134 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.dto.OddsUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class OddsStreamServiceTest extends Initializer {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testStream_sendsSnapshotThenCoalescedLatestOdds() throws Exception {
+        Match savedMatch = matchService.save(match);
+        MatchOdds draw = matchOddsService.save(new MatchOdds(savedMatch, "X", 3.00));
+
+        try (EventReader events = EventReader.open("http://localhost:" + port + "/api/matches/" + savedMatch.getId() + "/odds/stream")) {
+            OddsUpdate snapshot = objectMapper.readValue(events.next(), OddsUpdate.class);
+            Assertions.assertEquals("X", snapshot.specifier());
+            Assertions.assertEquals(3.00, snapshot.odds().getFirst().odd());
+
+            for (int i = 1; i <= 20; i++) {
+                matchOddsService.partialUpdate(draw.getId(), Map.of("odd", 3.00 + i * 0.01));
+            }
+
+            List<Double> received = new ArrayList<>();
+            while (received.isEmpty() || received.getLast() != 3.20) {
+                OddsUpdate update = objectMapper.readValue(events.next(), OddsUpdate.class);
+                received.add(update.odds().getFirst().odd());
+            }
+            Assertions.assertTrue(received.size() < 20, "updates were not coalesced: " + received);
+        }
+    }
+
+    @Test
+    void testStream_multipleMatchesAndDeletes() throws Exception {
+        Match first = matchService.save(match);
+        Match second = matchService.save(new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport));
+        MatchOdds home = matchOddsService.save(new MatchOdds(first, "1", 1.90));
+
+        try (EventReader events = EventReader.open("http://localhost:" + port + "/api/matches/odds/stream?ids="
+                + first.getId() + "," + second.getId())) {
+            Assertions.assertEquals(first.getId(), objectMapper.readValue(events.next(), OddsUpdate.class).matchId());
+
+            matchOddsService.save(new MatchOdds(second, "2", 4.10));
+            OddsUpdate added = objectMapper.readValue(events.next(), OddsUpdate.class);
+            Assertions.assertEquals(second.getId(), added.matchId());
+            Assertions.assertEquals(4.10, added.odds().getFirst().odd());
+
+            matchOddsService.deleteById(home.getId());
+            OddsUpdate removed = objectMapper.readValue(events.next(), OddsUpdate.class);
+            Assertions.assertEquals(first.getId(), removed.matchId());
+            Assertions.assertEquals("1", removed.specifier());
+            Assertions.assertTrue(removed.odds().isEmpty());
+        }
+    }
+
+    /**
+     * Reads the data lines of a server-sent event stream on a background thread.
+     */
+    private static final class EventReader implements AutoCloseable {
+        private final BlockingQueue<String> data = new LinkedBlockingQueue<>();
+        private final InputStream body;
+
+        private EventReader(InputStream body) {
+            this.body = body;
+            Thread.ofVirtual().start(() -> {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith("data:")) {
+                            data.add(line.substring("data:".length()));
+                        }
+                    }
+                } catch (Exception ignored) {
+                    // stream closed by the test
+                }
+            });
+        }
+
+        static EventReader open(String url) throws Exception {
+            HttpResponse<InputStream> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(url)).header("Accept", "text/event-stream").build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            Assertions.assertEquals(200, response.statusCode());
+            return new EventReader(response.body());
+        }
+
+        String next() throws InterruptedException {
+            String next = data.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(next, "no event within 5 seconds");
+            return next;
+        }
+
+        @Override
+        public void close() throws Exception {
+            body.close();
+        }
+    }
+}
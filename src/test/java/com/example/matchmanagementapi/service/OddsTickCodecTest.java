@@ -0,0 +1,57 @@
+package com.example.matchmanagementapi.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class OddsTickCodecTest {
+
+    @Test
+    void testRoundTrip_irregularTimesAndPrices() {
+        Random random = new Random(11);
+        int count = 5000;
+        long[] times = new long[count];
+        double[] odds = new double[count];
+        long time = 1_754_000_000_000L;
+        double odd = 2.10;
+        for (int i = 0; i < count; i++) {
+            switch (i % 5) {
+                case 0 -> time += 1000;
+                case 1 -> time += random.nextInt(200);
+                case 2 -> time += random.nextInt(5000);
+                case 3 -> time += random.nextInt(10_000_000);
+                default -> time -= random.nextInt(50);
+            }
+            if (random.nextInt(3) > 0) {
+                odd = Math.round((1.01 + random.nextDouble() * 20) * 100) / 100.0;
+            }
+            times[i] = time;
+            odds[i] = i == 7 ? Double.NaN : odd;
+        }
+
+        byte[] encoded = OddsTickCodec.encode(times, odds, 0, count);
+        long[] decodedTimes = new long[count];
+        double[] decodedOdds = new double[count];
+        OddsTickCodec.decode(encoded, count, decodedTimes, decodedOdds);
+
+        Assertions.assertArrayEquals(times, decodedTimes);
+        Assertions.assertArrayEquals(odds, decodedOdds);
+    }
+
+    @Test
+    void testEncode_regularUnchangedTicksCostTwoBitsEach() {
+        int count = 1001;
+        long[] times = new long[count];
+        double[] odds = new double[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = 1_754_000_000_000L + i * 1000L;
+            odds[i] = 1.85;
+        }
+
+        byte[] encoded = OddsTickCodec.encode(times, odds, 0, count);
+
+        // 16 raw bytes for the first tick, then 9 bits for the first delta and 2 bits per tick
+        Assertions.assertTrue(encoded.length <= 16 + 2 + 1000 * 2 / 8 + 1, "encoded to " + encoded.length + " bytes");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.matchmanagementapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class OddsUpdateQueueTest {
+
+    @Test
+    void testEnqueue_coalescesByIdKeepingLastWrite() {
+        OddsUpdateQueue queue = queue(10, 1, 100, Duration.ofSeconds(1));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, null, 1.5));
+        queue.enqueue(new QueuedOddsUpdate(2L, null, null, 3.0));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, "X", null));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, null, 1.7));
+
+        List<QueuedOddsUpdate> written = new ArrayList<>();
+        queue.flush(batch -> {
+            written.addAll(batch);
+            return batch.size();
+        });
+
+        Assertions.assertEquals(List.of(
+                new QueuedOddsUpdate(1L, null, "X", 1.7),
+                new QueuedOddsUpdate(2L, null, null, 3.0)
+        ), written);
+        Assertions.assertEquals(0, queue.getDepth());
+        Assertions.assertEquals(2.0, queue.getCoalescingRatio());
+    }
+
+    @Test
+    void testEnqueue_fullQueueRejectsNewRowsAfterTimeout() {
+        OddsUpdateQueue queue = queue(2, 1, 100, Duration.ofMillis(20));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, null, 1.5));
+        queue.enqueue(new QueuedOddsUpdate(2L, null, null, 2.5));
+
+        // Rows already queued can still be updated
+        queue.enqueue(new QueuedOddsUpdate(2L, null, null, 2.6));
+
+        ResponseStatusException e = Assertions.assertThrows(ResponseStatusException.class,
+                () -> queue.enqueue(new QueuedOddsUpdate(3L, null, null, 3.5)));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        Assertions.assertEquals(2, queue.getDepth());
+    }
+
+    @Test
+    void testFlush_failedBatchIsRetriedFirst() {
+        OddsUpdateQueue queue = queue(10, 1, 100, Duration.ofSeconds(1));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, null, 1.5));
+
+        queue.flush(batch -> {
+            throw new IllegalStateException("database down");
+        });
+        queue.enqueue(new QueuedOddsUpdate(2L, null, null, 2.5));
+
+        List<List<QueuedOddsUpdate>> batches = new ArrayList<>();
+        queue.flush(batch -> {
+            batches.add(batch);
+            return batch.size();
+        });
+
+        Assertions.assertEquals(List.of(
+                List.of(new QueuedOddsUpdate(1L, null, null, 1.5)),
+                List.of(new QueuedOddsUpdate(2L, null, null, 2.5))
+        ), batches);
+    }
+
+    @Test
+    void testFlush_failedBatchIsDroppedAfterMaxRetries() {
+        OddsUpdateQueue queue = queue(10, 1, 100, Duration.ofSeconds(1));
+        queue.enqueue(new QueuedOddsUpdate(1L, null, null, 1.5));
+        queue.enqueue(new QueuedOddsUpdate(2L, null, null, 2.5));
+
+        List<List<QueuedOddsUpdate>> batches = new ArrayList<>();
+        for (int run = 0; run < 4; run++) {
+            queue.flush(batch -> {
+                batches.add(batch);
+                if (batch.getFirst().id() == 1L) {
+                    throw new IllegalStateException("cannot be written");
+                }
+                return batch.size();
+            });
+        }
+
+        // The first write and two retries of the failing batch, then the rest of the queue
+        Assertions.assertEquals(List.of(
+                List.of(new QueuedOddsUpdate(1L, null, null, 1.5)),
+                List.of(new QueuedOddsUpdate(1L, null, null, 1.5)),
+                List.of(new QueuedOddsUpdate(1L, null, null, 1.5)),
+                List.of(new QueuedOddsUpdate(2L, null, null, 2.5))
+        ), batches);
+        Assertions.assertEquals(0, queue.getDepth());
+    }
+
+    @Test
+    void testFlush_batchSizeAdaptsToWriteTime() {
+        OddsUpdateQueue queue = queue(1000, 10, 40, Duration.ofSeconds(1));
+        for (long id = 1; id <= 100; id++) {
+            queue.enqueue(new QueuedOddsUpdate(id, null, null, 1.0 + id));
+        }
+
+        List<Integer> sizes = new ArrayList<>();
+        queue.flush(batch -> {
+            sizes.add(batch.size());
+            return batch.size();
+        });
+        Assertions.assertEquals(List.of(10, 20, 30, 40), sizes);
+
+        for (long id = 1; id <= 100; id++) {
+            queue.enqueue(new QueuedOddsUpdate(id, null, null, 2.0 + id));
+        }
+        AtomicBoolean slow = new AtomicBoolean(true);
+        sizes.clear();
+        queue.flush(batch -> {
+            sizes.add(batch.size());
+            if (slow.getAndSet(false)) {
+                sleep(60);
+            }
+            return batch.size();
+        });
+        Assertions.assertEquals(List.of(40, 20, 30, 10), sizes);
+    }
+
+    private static OddsUpdateQueue queue(int capacity, int minBatchSize, int maxBatchSize, Duration enqueueTimeout) {
+        return new OddsUpdateQueue(true, capacity, minBatchSize, maxBatchSize, Duration.ofMillis(50),
+                enqueueTimeout, 2, new SimpleMeterRegistry());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
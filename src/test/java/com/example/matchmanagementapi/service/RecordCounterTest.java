@@ -0,0 +1,129 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import com.example.matchmanagementapi.domain.MatchOdds;
+import com.example.matchmanagementapi.repository.MatchOddsRepository;
+import com.example.matchmanagementapi.repository.MatchRepository;
+import com.example.matchmanagementapi.repository.TableStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class RecordCounterTest extends Initializer {
+
+    @Autowired
+    private RecordCounter recordCounter;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private TableStatistics tableStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testCounts_followWritesWithoutQueries() {
+        Match savedMatch = matchService.save(match);
+        matchService.saveAll(List.of(
+                new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport),
+                new Match("ARIS-OFI", testMatchDate, testMatchTime, "ARIS", "OFI", testSport)));
+        MatchOdds saved = matchOddsService.save(new MatchOdds(savedMatch, "1", 1.90));
+        matchOddsService.saveAll(List.of(new MatchOdds(savedMatch, "X", 3.20), new MatchOdds(savedMatch, "2", 4.10)));
+        matchOddsService.deleteById(saved.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            Assertions.assertEquals(new RecordCount(3, true), matchService.getRecordCount());
+            Assertions.assertEquals(new RecordCount(2, true), matchOddsService.getRecordCount());
+            Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testMatchDeletes_subtractCascadedOdds() {
+        Match savedMatch = matchService.save(match);
+        Match other = matchService.save(new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport));
+        Match third = matchService.save(new Match("ARIS-OFI", testMatchDate, testMatchTime, "ARIS", "OFI", testSport));
+        matchOddsService.saveAll(List.of(new MatchOdds(savedMatch, "1", 1.90), new MatchOdds(savedMatch, "X", 3.20),
+                new MatchOdds(other, "1", 2.10), new MatchOdds(third, "2", 5.00)));
+        matchOddsService.getRecordCount();
+
+        matchService.deleteById(savedMatch.getId());
+        matchService.deleteByIds(List.of(other.getId()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            Assertions.assertEquals(new RecordCount(1, true), matchService.getRecordCount());
+            Assertions.assertEquals(new RecordCount(1, true), matchOddsService.getRecordCount());
+            Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void testReconcile_picksUpRowsWrittenElsewhere() {
+        matchService.save(match);
+        Match written = new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport);
+        written.refreshNaturalKey();
+        matchRepository.save(written);
+        Assertions.assertEquals(1, matchService.getRecordsCount());
+
+        recordCounter.reconcile();
+
+        Assertions.assertEquals(2, matchService.getRecordsCount());
+    }
+
+    @Test
+    void testEstimatedMode_readsTableStatistics() {
+        matchService.saveAll(List.of(match, new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport)));
+        RecordCounter estimated = new RecordCounter(matchRepository, matchOddsRepository, tableStatistics,
+                true, RecordCounter.Mode.ESTIMATED);
+
+        RecordCount count = estimated.get(SearchResultCache.Table.MATCHES);
+
+        Assertions.assertFalse(count.exact());
+        Assertions.assertEquals(2, count.value());
+        Assertions.assertEquals("estimated", count.accuracy());
+    }
+
+    @Test
+    void testEstimatedMode_countFallbackIsExact() {
+        matchService.saveAll(List.of(match, new Match("AEK-PAOK", testMatchDate, testMatchTime, "AEK", "PAOK", testSport)));
+        TableStatistics noStatistics = Mockito.mock(TableStatistics.class);
+        Mockito.when(noStatistics.estimateRowCount(Mockito.anyString())).thenReturn(OptionalLong.empty());
+        RecordCounter estimated = new RecordCounter(matchRepository, matchOddsRepository, noStatistics,
+                true, RecordCounter.Mode.ESTIMATED);
+
+        Assertions.assertEquals(new RecordCount(2, true), estimated.get(SearchResultCache.Table.MATCHES));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.matchmanagementapi.service;
+
+import com.example.matchmanagementapi.Initializer;
+import com.example.matchmanagementapi.domain.Match;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = "app.ingest.chunk-size=2")
+public class StreamingIngestServiceTest extends Initializer {
+
+    @Autowired
+    private StreamingIngestService streamingIngestService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Test
+    void testIngestMatches_commitsInChunks() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            body.append("{\"description\":\"T-U\",\"matchDate\":\"2021-03-31\",\"matchTime\":\"12:00:00\",\"teamA\":\"T")
+                    .append(i % 4).append("\",\"teamB\":\"U\",\"sport\":\"Football\"}\n");
+        }
+
+        List<String> lines = ingest(body.toString(), true);
+
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertEquals("{\"chunk\":1,\"received\":2,\"saved\":2,\"skipped\":0}", lines.get(0));
+        Assertions.assertEquals("{\"chunk\":3,\"received\":1,\"saved\":0,\"skipped\":1}", lines.get(2));
+        Assertions.assertEquals(4, matchService.findAll().size());
+    }
+
+    @Test
+    void testIngestMatchOdds_reportsMissingMatchesPerChunk() throws IOException {
+        Match savedMatch = matchService.save(match);
+        String body = "{\"matchId\":" + savedMatch.getId() + ",\"specifier\":\"1\",\"odd\":1.9}\n"
+                + "{\"matchId\":" + savedMatch.getId() + ",\"specifier\":\"X\",\"odd\":3.2}\n"
+                + "{\"matchId\":-1,\"specifier\":\"2\",\"odd\":4.0}\n";
+
+        List<String> lines = ingest(body, false);
+
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("\"saved\":2"));
+        Assertions.assertTrue(lines.get(1).contains("Matches not found with ids: [-1]"));
+        Assertions.assertEquals(2, matchOddsService.findAll().size());
+    }
+
+    @Test
+    void testIngestMatches_invalidLineStopsStream() throws IOException {
+        String body = "{\"description\":\"A-B\",\"matchDate\":\"2021-03-31\",\"matchTime\":\"12:00:00\",\"teamA\":\"A\",\"teamB\":\"B\",\"sport\":\"Football\"}\n"
+                + "{not json}\n";
+
+        List<String> lines = ingest(body, true);
+
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.get(0).contains("\"saved\":1"));
+        Assertions.assertTrue(lines.get(1).contains("Invalid NDJSON"));
+    }
+
+    private List<String> ingest(String body, boolean matches) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (matches) {
+            streamingIngestService.ingestMatches(in, out);
+        } else {
+            streamingIngestService.ingestMatchOdds(in, out);
+        }
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}